@@ -55,4 +55,10 @@ public interface Map<K, V> extends Iterable<K> {
      */
     void remove(K key);
 
+    /**
+     * The number of associations in the map.
+     * @return The number of keys
+     */
+    int size();
+
 }
@@ -0,0 +1,58 @@
+package adt;
+
+/**
+ * SortedMap
+ *
+ * Interface to serve as an example of the sorted map ADT:
+ * a map whose keys have a natural order, which it uses both
+ * to iterate the keys in ascending order and to answer
+ * questions about where a key falls relative to the keys
+ * already in the map.
+ *
+ * As with Map, asking about a key that doesn't exist
+ * does not throw NoSuchElementException; the navigation
+ * methods return null when there is no such key.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ * @param <K> The key-type of the map
+ * @param <V> The value-type of the map
+ */
+
+public interface SortedMap<K extends Comparable<K>, V> extends Map<K, V> {
+
+    /**
+     * The smallest key in the map.
+     * @return The first key, or null if the map is empty
+     */
+    K firstKey();
+
+    /**
+     * The largest key in the map.
+     * @return The last key, or null if the map is empty
+     */
+    K lastKey();
+
+    /**
+     * The greatest key in the map less than or equal to the given key.
+     * @param key The key to search from
+     * @return The floor of the key, or null if there is none
+     */
+    K floorKey(K key);
+
+    /**
+     * The least key in the map greater than or equal to the given key.
+     * @param key The key to search from
+     * @return The ceiling of the key, or null if there is none
+     */
+    K ceilingKey(K key);
+
+    /**
+     * The keys in a range, in ascending order. The range includes
+     * fromKey and excludes toKey, as with java.util.SortedMap.
+     * @param fromKey The low end of the range (inclusive)
+     * @param toKey The high end of the range (exclusive)
+     * @return The keys in the range, in order
+     */
+    Iterable<K> subMap(K fromKey, K toKey);
+
+}
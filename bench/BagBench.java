@@ -0,0 +1,79 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Bag;
+
+/**
+ * Benchmarks for the Bag implementations. The bag holds size items made of
+ * size/4 distinct keys, four copies each; addRemove adds a new key and then
+ * removes it, so the bag stays the same size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BagBench {
+
+    /* the number of copies of each distinct key */
+    private static final int COPIES = 4;
+
+    @Param({ "ListBag", "HashBag" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "sequential", "random", "strided" })
+    String keys;
+
+    Bag<Integer> bag;
+
+    Integer[] present;
+    Integer[] absent;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        bag = Impls.newBag(impl);
+        present = Keys.keys(keys, 0, Math.max(size / COPIES, 1));
+        absent = Keys.keys(keys, present.length, Math.min(present.length, 1 << 16));
+        for (int i = 0; i < COPIES; i++)
+            for (Integer key : present)
+                bag.add(key);
+    }
+
+    @Benchmark
+    public int count() {
+        cursor = Keys.step(cursor, present.length);
+        return bag.count(present[cursor]);
+    }
+
+    @Benchmark
+    public void addExisting() {
+        cursor = Keys.step(cursor, present.length);
+        bag.add(present[cursor]);
+    }
+
+    @Benchmark
+    public void addRemove() {
+        cursor = Keys.step(cursor, absent.length);
+        bag.add(absent[cursor]);
+        bag.remove(absent[cursor]);
+    }
+}
@@ -0,0 +1,184 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Map;
+import impl.LRUMap;
+import impl.TinyLFUMap;
+
+/**
+ * Replays a stream of keys against a cache, the way a cache-aside caller uses
+ * one: get() each key, and put() it if that missed. Alongside ops/us, the
+ * Stats counters report the hits and misses in each iteration and the hit
+ * ratio, so the cost of a policy's bookkeeping can be weighed against what it
+ * saves. Run it single-threaded (the default); with several threads the
+ * hitRatio line is the sum of their ratios.
+ *
+ * The trace is one of the built-in synthetic streams or a recorded one:
+ *
+ * - zipf: 10^6 requests over 10^5 keys, with Zipf(0.99) popularity;
+ * - scan: the zipf stream, with 30% of it replaced by scans of keys that are
+ *   never requested again;
+ * - loop: keys 0..1.25 capacity-1 over and over, which LRU never hits;
+ * - file:path, a recorded trace with one key per line (a line that isn't an
+ *   integer is keyed by its hash code), for example
+ *   -p trace=file:/var/log/sessions.trace
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheTraceBench {
+
+    @Param({ "LRUMap", "TinyLFUMap" })
+    String impl;
+
+    @Param({ "zipf", "scan", "loop" })
+    String trace;
+
+    @Param({ "1000", "10000" })
+    int capacity;
+
+    Map<Integer, Integer> cache;
+
+    Integer[] keys;
+
+    int cursor = 0;
+
+    /**
+     * The hits and misses of one iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Stats {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            hits = misses = 0;
+        }
+
+        public double hitRatio() {
+            return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        switch (impl) {
+        case "LRUMap":
+            cache = new LRUMap<Integer, Integer>(capacity);
+            break;
+        case "TinyLFUMap":
+            cache = new TinyLFUMap<Integer, Integer>(capacity);
+            break;
+        default:
+            throw new IllegalArgumentException(impl);
+        }
+        keys = load(trace, capacity);
+    }
+
+    static Integer[] load(String trace, int capacity) throws IOException {
+        if (trace.startsWith("file:")) {
+            java.util.List<String> lines = Files.readAllLines(Paths.get(trace.substring(5)));
+            Integer[] keys = new Integer[lines.size()];
+            for (int i = 0; i < keys.length; i++) {
+                String line = lines.get(i).trim();
+                try {
+                    keys[i] = Integer.valueOf(line);
+                } catch (NumberFormatException e) {
+                    keys[i] = line.hashCode();
+                }
+            }
+            return keys;
+        }
+        Random rand = new Random(345);
+        Integer[] keys = new Integer[1000000];
+        switch (trace) {
+        case "zipf":
+        case "scan":
+            double[] cumulative = zipf(100000, 0.99);
+            int scanKey = cumulative.length;
+            for (int i = 0; i < keys.length; i++) {
+                if (trace.equals("scan") && i % 10000 < 3000)
+                    keys[i] = scanKey++;
+                else
+                    keys[i] = sample(cumulative, rand.nextDouble());
+            }
+            return keys;
+        case "loop":
+            int length = capacity + capacity / 4;
+            for (int i = 0; i < keys.length; i++)
+                keys[i] = i % length;
+            return keys;
+        default:
+            throw new IllegalArgumentException(trace);
+        }
+    }
+
+    /**
+     * The cumulative distribution of Zipf(s) popularity over n keys.
+     */
+    private static double[] zipf(int n, double s) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, s);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++)
+            cumulative[k] /= total;
+        return cumulative;
+    }
+
+    /**
+     * The first key whose cumulative probability reaches u.
+     */
+    private static int sample(double[] cumulative, double u) {
+        int lo = 0, hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < u)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    @Benchmark
+    public Integer replay(Stats stats) {
+        Integer key = keys[cursor];
+        if (++cursor == keys.length)
+            cursor = 0;
+        Integer val = cache.get(key);
+        if (val != null) {
+            stats.hits++;
+            return val;
+        }
+        stats.misses++;
+        cache.put(key, key);
+        return key;
+    }
+}
@@ -0,0 +1,184 @@
+package bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Map;
+
+/**
+ * Throughput of one map shared by 1, 2, 4, 8, 16 and 32 threads, to see how
+ * each thread-safe map scales with cores. The maps are our HashMap behind a
+ * single lock (SynchronizedMap, the status quo), StripedHashMap,
+ * LockFreeHashMap, and java.util.concurrent.ConcurrentHashMap as a baseline;
+ * and the sorted maps RBTreeMap behind a single lock, LockFreeSkipListMap, and
+ * java.util.concurrent.ConcurrentSkipListMap.
+ *
+ * Each thread walks its own path through a fixed set of scrambled keys. The
+ * readMostly benchmarks make 1 in 10 operations a put() and the rest get();
+ * the writeOnly ones only put(), which overwrites, so the map's size is the
+ * same throughout. Results are operations per microsecond summed over all the
+ * threads, so perfect scaling doubles the score with the thread count (up to
+ * the number of cores).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentMapBench {
+
+    @Param({ "SynchronizedMap", "StripedHashMap", "LockFreeHashMap", "ConcurrentHashMap",
+            "SynchronizedTreeMap", "LockFreeSkipListMap", "ConcurrentSkipListMap" })
+    String impl;
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    Map<Integer, Integer> map;
+
+    Integer[] keys;
+
+    @Setup
+    public void setup() {
+        switch (impl) {
+        case "SynchronizedMap":
+            map = new SynchronizedMap<Integer, Integer>(Impls.newMap("HashMap"));
+            break;
+        case "ConcurrentHashMap":
+            map = new JdkMap<Integer, Integer>(
+                    new java.util.concurrent.ConcurrentHashMap<Integer, Integer>());
+            break;
+        case "SynchronizedTreeMap":
+            map = new SynchronizedMap<Integer, Integer>(Impls.newMap("RBTreeMap"));
+            break;
+        case "ConcurrentSkipListMap":
+            map = new JdkMap<Integer, Integer>(
+                    new java.util.concurrent.ConcurrentSkipListMap<Integer, Integer>());
+            break;
+        default:
+            map = Impls.newMap(impl);
+        }
+        keys = Keys.keys("random", 0, size);
+        for (Integer key : keys)
+            map.put(key, key);
+    }
+
+    /**
+     * The position of one thread in the key array; each starts somewhere
+     * different so the threads don't move in lockstep.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int cursor;
+        int ops = 0;
+
+        @Setup
+        public void setup(ConcurrentMapBench bench) {
+            cursor = ThreadLocalRandom.current().nextInt(bench.size);
+        }
+    }
+
+    private Integer readMostly(Cursor c) {
+        c.cursor = Keys.step(c.cursor, size);
+        Integer key = keys[c.cursor];
+        if (++c.ops == 10) {
+            c.ops = 0;
+            map.put(key, key);
+            return key;
+        }
+        return map.get(key);
+    }
+
+    private Integer writeOnly(Cursor c) {
+        c.cursor = Keys.step(c.cursor, size);
+        Integer key = keys[c.cursor];
+        map.put(key, key);
+        return key;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer readMostly01(Cursor c) {
+        return readMostly(c);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer readMostly02(Cursor c) {
+        return readMostly(c);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer readMostly04(Cursor c) {
+        return readMostly(c);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer readMostly08(Cursor c) {
+        return readMostly(c);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer readMostly16(Cursor c) {
+        return readMostly(c);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer readMostly32(Cursor c) {
+        return readMostly(c);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer writeOnly01(Cursor c) {
+        return writeOnly(c);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer writeOnly02(Cursor c) {
+        return writeOnly(c);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer writeOnly04(Cursor c) {
+        return writeOnly(c);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer writeOnly08(Cursor c) {
+        return writeOnly(c);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer writeOnly16(Cursor c) {
+        return writeOnly(c);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer writeOnly32(Cursor c) {
+        return writeOnly(c);
+    }
+}
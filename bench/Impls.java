@@ -0,0 +1,157 @@
+package bench;
+
+import adt.Bag;
+import adt.List;
+import adt.Map;
+import adt.Queue;
+import adt.Set;
+import adt.Stack;
+import impl.AVLTreeMap;
+import impl.AdaptiveMap;
+import impl.ArrayList;
+import impl.ArrayMap;
+import impl.ArrayQueue;
+import impl.BPlusTreeMap;
+import impl.BoundedQueue;
+import impl.BoundedStack;
+import impl.CompactArrayMap;
+import impl.CuckooMap;
+import impl.ExpiringMap;
+import impl.HAMTMap;
+import impl.HashBag;
+import impl.HashMap;
+import impl.HashSet;
+import impl.ListBag;
+import impl.ListQueue;
+import impl.ListStack;
+import impl.LockFreeHashMap;
+import impl.LockFreeSkipListMap;
+import impl.LRUMap;
+import impl.MapList;
+import impl.MapSet;
+import impl.OrderedHashMap;
+import impl.RBTreeMap;
+import impl.RobinHoodMap;
+import impl.StripedHashMap;
+
+/**
+ * Factories for the implementations under benchmark, by class name, so that
+ * each benchmark can take the implementation as a @Param.
+ */
+final class Impls {
+
+    private Impls() {
+    }
+
+    /**
+     * java.util.HashMap and java.util.TreeMap are included, through JdkMap, as
+     * baselines.
+     */
+    static Map<Integer, Integer> newMap(String name) {
+        switch (name) {
+        case "ArrayMap":
+            return new ArrayMap<Integer, Integer>();
+        case "HashMap":
+            return new HashMap<Integer, Integer>();
+        case "RBTreeMap":
+            return new RBTreeMap<Integer, Integer>();
+        case "AVLTreeMap":
+            return new AVLTreeMap<Integer, Integer>();
+        case "CompactArrayMap":
+            return new CompactArrayMap<Integer, Integer>();
+        case "OrderedHashMap":
+            return new OrderedHashMap<Integer, Integer>();
+        case "AdaptiveMap":
+            return new AdaptiveMap<Integer, Integer>();
+        case "BPlusTreeMap":
+            return new BPlusTreeMap<Integer, Integer>();
+        case "RobinHoodMap":
+            return new RobinHoodMap<Integer, Integer>();
+        case "CuckooMap":
+            return new CuckooMap<Integer, Integer>();
+        case "StripedHashMap":
+            return new StripedHashMap<Integer, Integer>();
+        case "LockFreeHashMap":
+            return new LockFreeHashMap<Integer, Integer>();
+        case "LockFreeSkipListMap":
+            return new LockFreeSkipListMap<Integer, Integer>();
+        case "LRUMap":
+            // unbounded, so this measures the cost of keeping the recency order
+            return new LRUMap<Integer, Integer>(Integer.MAX_VALUE);
+        case "HAMTMap":
+            return new HAMTMap<Integer, Integer>();
+        case "ExpiringMap":
+            // nothing expires during a run, so this measures the wheel upkeep
+            return new ExpiringMap<Integer, Integer>(1, java.util.concurrent.TimeUnit.DAYS);
+        case "java.util.HashMap":
+            return new JdkMap<Integer, Integer>(new java.util.HashMap<Integer, Integer>());
+        case "java.util.TreeMap":
+            return new JdkMap<Integer, Integer>(new java.util.TreeMap<Integer, Integer>());
+        default:
+            throw new IllegalArgumentException(name);
+        }
+    }
+
+    static List<Integer> newList(String name) {
+        switch (name) {
+        case "MapList":
+            return new MapList<Integer>();
+        case "ArrayList":
+            return new ArrayList<Integer>();
+        default:
+            throw new IllegalArgumentException(name);
+        }
+    }
+
+    static Set<Integer> newSet(String name) {
+        switch (name) {
+        case "MapSet":
+            return new MapSet<Integer>();
+        case "HashSet":
+            return new HashSet<Integer>();
+        default:
+            throw new IllegalArgumentException(name);
+        }
+    }
+
+    static Bag<Integer> newBag(String name) {
+        switch (name) {
+        case "ListBag":
+            return new ListBag<Integer>();
+        case "HashBag":
+            return new HashBag<Integer>();
+        default:
+            throw new IllegalArgumentException(name);
+        }
+    }
+
+    /**
+     * @param capacity The most items the stack will hold (for bounded stacks)
+     */
+    static Stack<Integer> newStack(String name, int capacity) {
+        switch (name) {
+        case "ListStack":
+            return new ListStack<Integer>();
+        case "BoundedStack":
+            return new BoundedStack<Integer>(capacity);
+        default:
+            throw new IllegalArgumentException(name);
+        }
+    }
+
+    /**
+     * @param capacity The most items the queue will hold (for bounded queues)
+     */
+    static Queue<Integer> newQueue(String name, int capacity) {
+        switch (name) {
+        case "ListQueue":
+            return new ListQueue<Integer>();
+        case "ArrayQueue":
+            return new ArrayQueue<Integer>();
+        case "BoundedQueue":
+            return new BoundedQueue<Integer>(capacity);
+        default:
+            throw new IllegalArgumentException(name);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import java.util.Iterator;
+
+import adt.Map;
+
+/**
+ * Adapter that presents a java.util.Map as an adt.Map, so the JDK's maps can
+ * be benchmarked through the same code as ours as a baseline.
+ */
+final class JdkMap<K, V> implements Map<K, V> {
+
+    private final java.util.Map<K, V> internal;
+
+    JdkMap(java.util.Map<K, V> internal) {
+        this.internal = internal;
+    }
+
+    public Iterator<K> iterator() {
+        return internal.keySet().iterator();
+    }
+
+    public void put(K key, V val) {
+        internal.put(key, val);
+    }
+
+    public V get(K key) {
+        return internal.get(key);
+    }
+
+    public boolean containsKey(K key) {
+        return internal.containsKey(key);
+    }
+
+    public void remove(K key) {
+        internal.remove(key);
+    }
+
+    public int size() {
+        return internal.size();
+    }
+}
@@ -0,0 +1,62 @@
+package bench;
+
+/**
+ * Key distributions for the benchmarks. The i-th key of a distribution is the
+ * same on every run, distinct keys come from distinct indices, and keys with
+ * index size or more are never in a collection of the first size keys, so they
+ * can be used for misses.
+ */
+final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * The i-th key of a distribution.
+     * @param distribution "sequential" (0, 1, 2, ...), "random" (a scrambled
+     *   permutation of the ints) or "strided" (multiples of 64, which defeats
+     *   hashes that only look at the low bits)
+     * @param i The index of the key
+     * @return The key
+     */
+    static int key(String distribution, int i) {
+        switch (distribution) {
+        case "sequential":
+            return i;
+        case "random":
+            // the murmur3 finalizer is a bijection, so distinct i stay distinct
+            int h = i;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        case "strided":
+            return i * 64;
+        default:
+            throw new IllegalArgumentException(distribution);
+        }
+    }
+
+    /**
+     * The keys with indices from..from+n-1, boxed once up front so that the
+     * benchmarks themselves don't allocate.
+     */
+    static Integer[] keys(String distribution, int from, int n) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = key(distribution, from + i);
+        return keys;
+    }
+
+    /**
+     * Step a cursor through 0..size-1 in a scattered order that visits every
+     * index, so consecutive operations don't touch neighbouring entries.
+     */
+    static int step(int cursor, int size) {
+        // 7919 is prime, and none of the sizes we use is a multiple of it
+        cursor += 7919 % size;
+        return cursor >= size ? cursor - size : cursor;
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Map;
+
+/**
+ * The latency distribution of get(), rather than its mean. In SampleTime mode
+ * JMH times individual calls and reports percentiles, so the p99.9 and p99.99
+ * lines show how long the slowest lookups take: a long probe run, a deep chain
+ * or (for CuckooMap) at most two buckets and the stash. The keys are
+ * scrambled, so lookups land all over the table.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LatencyBench {
+
+    @Param({ "ArrayMap", "HashMap", "CuckooMap", "java.util.HashMap" })
+    String impl;
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    Map<Integer, Integer> map;
+
+    Integer[] present;
+    Integer[] absent;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        map = Impls.newMap(impl);
+        present = Keys.keys("random", 0, size);
+        absent = Keys.keys("random", size, Math.min(size, 1 << 16));
+        for (Integer key : present)
+            map.put(key, key);
+    }
+
+    @Benchmark
+    public Integer get() {
+        cursor = Keys.step(cursor, size);
+        return map.get(present[cursor]);
+    }
+
+    @Benchmark
+    public Integer getMiss() {
+        cursor = Keys.step(cursor, absent.length);
+        return map.get(absent[cursor]);
+    }
+}
@@ -0,0 +1,80 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.List;
+
+/**
+ * Benchmarks for the List implementations. The mutating benchmarks undo
+ * themselves (add then remove the last element, insert then remove at the
+ * same index) so the list stays the same size throughout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBench {
+
+    @Param({ "MapList", "ArrayList" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    List<Integer> list;
+
+    Integer element = 345;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        list = Impls.newList(impl);
+        for (int i = 0; i < size; i++)
+            list.add(i);
+    }
+
+    @Benchmark
+    public Integer get() {
+        cursor = Keys.step(cursor, size);
+        return list.get(cursor);
+    }
+
+    @Benchmark
+    public void set() {
+        cursor = Keys.step(cursor, size);
+        list.set(cursor, element);
+    }
+
+    @Benchmark
+    public Integer addRemoveLast() {
+        list.add(element);
+        return list.remove(size);
+    }
+
+    @Benchmark
+    public Integer insertRemoveMiddle() {
+        list.insert(size / 2, element);
+        return list.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer insertRemoveFront() {
+        list.insert(0, element);
+        return list.remove(0);
+    }
+}
@@ -0,0 +1,101 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import adt.Map;
+
+/**
+ * Benchmarks for the Map implementations: hits and misses for get(),
+ * replacing a value with put(), removing and re-adding a key (so the map stays
+ * the same size), and a full iteration over the keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapBench {
+
+    @Param({ "ArrayMap", "HashMap", "RBTreeMap", "AVLTreeMap", "RobinHoodMap",
+            "CuckooMap", "StripedHashMap", "LockFreeHashMap", "LRUMap",
+            "ExpiringMap", "HAMTMap", "BPlusTreeMap", "AdaptiveMap",
+            "CompactArrayMap", "OrderedHashMap" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "sequential", "random", "strided" })
+    String keys;
+
+    Map<Integer, Integer> map;
+
+    /* the keys in the map, and (up to 2^16) keys that aren't */
+    Integer[] present;
+    Integer[] absent;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        map = Impls.newMap(impl);
+        present = Keys.keys(keys, 0, size);
+        absent = Keys.keys(keys, size, Math.min(size, 1 << 16));
+        for (Integer key : present)
+            map.put(key, key);
+    }
+
+    private Integer nextPresent() {
+        cursor = Keys.step(cursor, size);
+        return present[cursor];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(nextPresent());
+    }
+
+    @Benchmark
+    public Integer getMiss() {
+        cursor = Keys.step(cursor, absent.length);
+        return map.get(absent[cursor]);
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(nextPresent());
+    }
+
+    @Benchmark
+    public void put() {
+        Integer key = nextPresent();
+        map.put(key, key);
+    }
+
+    @Benchmark
+    public void removePut() {
+        Integer key = nextPresent();
+        map.remove(key);
+        map.put(key, key);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer key : map)
+            bh.consume(key);
+    }
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Map;
+import impl.IntIntMap;
+
+/**
+ * IntIntMap against Maps of Integers used the same way, from primitive ints:
+ * get(), and counting (adding one to the value of a key). The boxed maps box
+ * each key, and each new count, so run with -prof gc to see the allocation
+ * rate, which for IntIntMap should be zero.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveMapBench {
+
+    @Param({ "IntIntMap", "HashMap", "java.util.HashMap" })
+    String impl;
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    /* one of these is used, depending on impl */
+    IntIntMap primitive;
+    Map<Integer, Integer> boxed;
+
+    int[] present;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        present = new int[size];
+        for (int i = 0; i < size; i++)
+            present[i] = Keys.key("random", i);
+        if (impl.equals("IntIntMap")) {
+            primitive = new IntIntMap();
+            for (int key : present)
+                primitive.put(key, key);
+        } else {
+            boxed = Impls.newMap(impl);
+            for (int key : present)
+                boxed.put(key, key);
+        }
+    }
+
+    private int nextPresent() {
+        cursor = Keys.step(cursor, size);
+        return present[cursor];
+    }
+
+    @Benchmark
+    public int get() {
+        int key = nextPresent();
+        return primitive != null ? primitive.get(key) : boxed.get(key);
+    }
+
+    @Benchmark
+    public int count() {
+        int key = nextPresent();
+        if (primitive != null)
+            return primitive.addTo(key, 1);
+        int count = boxed.get(key) + 1;
+        boxed.put(key, count);
+        return count;
+    }
+}
@@ -0,0 +1,58 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Queue;
+
+/**
+ * Benchmarks for the Queue implementations: an enqueue and a remove on a
+ * queue that already holds size items (so over time the items cycle through
+ * the whole queue), and a peek at the front.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBench {
+
+    @Param({ "ListQueue", "ArrayQueue", "BoundedQueue" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    Queue<Integer> queue;
+
+    @Setup
+    public void setup() {
+        queue = Impls.newQueue(impl, size + 1);
+        for (int i = 0; i < size; i++)
+            queue.enqueue(i);
+    }
+
+    @Benchmark
+    public Integer enqueueRemove() {
+        Integer item = queue.remove();
+        queue.enqueue(item);
+        return item;
+    }
+
+    @Benchmark
+    public Integer front() {
+        return queue.front();
+    }
+}
@@ -0,0 +1,88 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Set;
+
+/**
+ * Benchmarks for the Set implementations: contains() hits and misses, adding
+ * an item that is already there, removing and re-adding an item, and size().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SetBench {
+
+    @Param({ "MapSet", "HashSet" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "sequential", "random", "strided" })
+    String keys;
+
+    Set<Integer> set;
+
+    Integer[] present;
+    Integer[] absent;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        set = Impls.newSet(impl);
+        present = Keys.keys(keys, 0, size);
+        absent = Keys.keys(keys, size, Math.min(size, 1 << 16));
+        for (Integer key : present)
+            set.add(key);
+    }
+
+    private Integer nextPresent() {
+        cursor = Keys.step(cursor, size);
+        return present[cursor];
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(nextPresent());
+    }
+
+    @Benchmark
+    public boolean containsMiss() {
+        cursor = Keys.step(cursor, absent.length);
+        return set.contains(absent[cursor]);
+    }
+
+    @Benchmark
+    public void addExisting() {
+        set.add(nextPresent());
+    }
+
+    @Benchmark
+    public void removeAdd() {
+        Integer key = nextPresent();
+        set.remove(key);
+        set.add(key);
+    }
+
+    @Benchmark
+    public int size() {
+        return set.size();
+    }
+}
@@ -0,0 +1,96 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import impl.HAMTMap;
+import impl.HashMap;
+
+/**
+ * The cost of point-in-time copies, and of building a persistent map. A
+ * snapshot of a HAMTMap shares its trie and is O(1), where the alternative,
+ * copying a HashMap, is O(n); snapshotAndPut adds the path copy that the first
+ * update after a snapshot pays. load and loadBatch build a HAMTMap of size
+ * keys with and without a batch, which lets each node be updated in place
+ * after its first copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBench {
+
+    @Param({ "10", "1000", "100000" })
+    int size;
+
+    Integer[] keys;
+
+    HAMTMap<Integer, Integer> hamt;
+
+    HashMap<Integer, Integer> hash;
+
+    int cursor = 0;
+
+    @Setup
+    public void setup() {
+        keys = Keys.keys("random", 0, size);
+        hamt = new HAMTMap<Integer, Integer>();
+        hash = new HashMap<Integer, Integer>();
+        for (Integer key : keys) {
+            hamt.put(key, key);
+            hash.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public HAMTMap<Integer, Integer> snapshot() {
+        return hamt.snapshot();
+    }
+
+    @Benchmark
+    public HAMTMap<Integer, Integer> snapshotAndPut() {
+        HAMTMap<Integer, Integer> snapshot = hamt.snapshot();
+        cursor = Keys.step(cursor, size);
+        hamt.put(keys[cursor], cursor);
+        return snapshot;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> copyHashMap() {
+        HashMap<Integer, Integer> copy = new HashMap<Integer, Integer>(hash.size());
+        for (Integer key : hash)
+            copy.put(key, hash.get(key));
+        return copy;
+    }
+
+    @Benchmark
+    public HAMTMap<Integer, Integer> load() {
+        HAMTMap<Integer, Integer> map = new HAMTMap<Integer, Integer>();
+        for (Integer key : keys)
+            map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public HAMTMap<Integer, Integer> loadBatch() {
+        HAMTMap<Integer, Integer> map = new HAMTMap<Integer, Integer>();
+        map.beginBatch();
+        for (Integer key : keys)
+            map.put(key, key);
+        map.endBatch();
+        return map;
+    }
+}
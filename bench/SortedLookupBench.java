@@ -0,0 +1,84 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Map;
+
+/**
+ * Lookup latency on a sorted key space, comparing the balanced trees and the
+ * B+-tree with ArrayMap and java.util.TreeMap. Besides pure get() and
+ * containsKey(), readMostly models a workload of 95% lookups and 5% updates
+ * (each update removes a key and puts it back, so the map stays the same
+ * size).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortedLookupBench {
+
+    @Param({ "ArrayMap", "RBTreeMap", "AVLTreeMap", "BPlusTreeMap",
+            "LockFreeSkipListMap", "java.util.TreeMap" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "1000000" })
+    int size;
+
+    Map<Integer, Integer> map;
+
+    /* the keys, inserted in ascending order */
+    Integer[] present;
+
+    int cursor = 0;
+
+    int op = 0;
+
+    @Setup
+    public void setup() {
+        map = Impls.newMap(impl);
+        present = Keys.keys("sequential", 0, size);
+        for (Integer key : present)
+            map.put(key, key);
+    }
+
+    private Integer nextPresent() {
+        cursor = Keys.step(cursor, size);
+        return present[cursor];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(nextPresent());
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(nextPresent());
+    }
+
+    @Benchmark
+    public Integer readMostly() {
+        Integer key = nextPresent();
+        if (++op == 20) {
+            op = 0;
+            map.remove(key);
+            map.put(key, key);
+            return key;
+        }
+        return map.get(key);
+    }
+}
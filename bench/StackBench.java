@@ -0,0 +1,58 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.Stack;
+
+/**
+ * Benchmarks for the Stack implementations: a push and a pop on a stack that
+ * already holds size items, and a peek at the top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBench {
+
+    @Param({ "ListStack", "BoundedStack" })
+    String impl;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    Stack<Integer> stack;
+
+    Integer element = 345;
+
+    @Setup
+    public void setup() {
+        stack = Impls.newStack(impl, size + 1);
+        for (int i = 0; i < size; i++)
+            stack.push(i);
+    }
+
+    @Benchmark
+    public Integer pushPop() {
+        stack.push(element);
+        return stack.pop();
+    }
+
+    @Benchmark
+    public Integer top() {
+        return stack.top();
+    }
+}
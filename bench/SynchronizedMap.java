@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.Iterator;
+
+import adt.Map;
+
+/**
+ * Adapter that makes any adt.Map thread-safe by holding one lock around every
+ * call, which is how the single-threaded maps have to be shared today. It is
+ * the baseline that lock striping is measured against.
+ */
+final class SynchronizedMap<K, V> implements Map<K, V> {
+
+    private final Map<K, V> internal;
+
+    SynchronizedMap(Map<K, V> internal) {
+        this.internal = internal;
+    }
+
+    /**
+     * Only safe while no other thread is writing, as with
+     * Collections.synchronizedMap.
+     */
+    public synchronized Iterator<K> iterator() {
+        return internal.iterator();
+    }
+
+    public synchronized void put(K key, V val) {
+        internal.put(key, val);
+    }
+
+    public synchronized V get(K key) {
+        return internal.get(key);
+    }
+
+    public synchronized boolean containsKey(K key) {
+        return internal.containsKey(key);
+    }
+
+    public synchronized void remove(K key) {
+        internal.remove(key);
+    }
+
+    public synchronized int size() {
+        return internal.size();
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * JMH benchmarks for the implementations in impl.
+ *
+ * Like the JUnit tests in the test package, these are compiled together with
+ * adt and impl; put the JMH core jar and its annotation processor
+ * (jmh-core, jmh-generator-annprocess) on the classpath instead of JUnit. Run
+ * them through org.openjdk.jmh.Main, for example
+ *
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main MapBench -p impl=HashMap -prof gc
+ * </pre>
+ *
+ * Every benchmark class is parameterized by the implementation (impl), the
+ * number of items in the collection (size, 10 to 10^7) and, where there are
+ * keys, how they are distributed (keys; see Keys). Results are in ns/op;
+ * -prof gc adds the allocation rate per operation.
+ *
+ * The O(n) implementations (ArrayMap, CompactArrayMap, MapList, ListBag and
+ * the ones built on them) take O(n^2) just to fill at the larger sizes, so
+ * exclude them there with -p, for instance -p size=10,1000 when impl=ArrayMap.
+ */
+package bench;
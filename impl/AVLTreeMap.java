@@ -0,0 +1,416 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.SortedMap;
+
+/**
+ * AVLTreeMap
+ *
+ * Class to implement the SortedMap ADT using an AVL tree. Each node records
+ * its height, and after every put() or remove() the nodes on the path back to
+ * the root are rotated so that the heights of any node's two subtrees differ
+ * by at most one. That keeps the height under 1.44 lg(n+2), tighter than a
+ * red-black tree's 2 lg(n+1), so lookups (get(), containsKey() and the
+ * navigation methods) make fewer comparisons, at the price of more rotations
+ * on update. It suits maps that are read far more often than written.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class AVLTreeMap<K extends Comparable<K>, V> implements SortedMap<K, V> {
+
+	/**
+	 * Class for the nodes of the tree.
+	 */
+	private static class Node<K, V> {
+		K key;
+		V val;
+		int height = 1;
+		Node<K, V> left, right;
+
+		Node(K key, V val) {
+			this.key = key;
+			this.val = val;
+		}
+	}
+
+	/**
+	 * The root of the tree, null if the map is empty.
+	 */
+	private Node<K, V> root;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private int size = 0;
+
+	/**
+	 * Plain constructor.
+	 */
+	public AVLTreeMap() {
+		root = null;
+	}
+
+	private static int height(Node<?, ?> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private static void updateHeight(Node<?, ?> node) {
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+	}
+
+	private Node<K, V> rotateLeft(Node<K, V> x) {
+		Node<K, V> y = x.right;
+		x.right = y.left;
+		y.left = x;
+		updateHeight(x);
+		updateHeight(y);
+		return y;
+	}
+
+	private Node<K, V> rotateRight(Node<K, V> x) {
+		Node<K, V> y = x.left;
+		x.left = y.right;
+		y.right = x;
+		updateHeight(x);
+		updateHeight(y);
+		return y;
+	}
+
+	/**
+	 * Restore the AVL property at a node whose subtrees are each balanced but
+	 * whose heights may differ by two.
+	 *
+	 * @return The root of the rebalanced subtree
+	 */
+	private Node<K, V> balance(Node<K, V> node) {
+		updateHeight(node);
+		int skew = height(node.left) - height(node.right);
+		if (skew > 1) {
+			// left-right case becomes left-left
+			if (height(node.left.left) < height(node.left.right))
+				node.left = rotateLeft(node.left);
+			return rotateRight(node);
+		}
+		if (skew < -1) {
+			// right-left case becomes right-right
+			if (height(node.right.right) < height(node.right.left))
+				node.right = rotateRight(node.right);
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Find the node holding a key.
+	 *
+	 * @return The node holding the key, or null if it isn't in the map
+	 */
+	private Node<K, V> find(K key) {
+		Node<K, V> current = root;
+		while (current != null) {
+			int c = key.compareTo(current.key);
+			if (c == 0)
+				return current;
+			current = c < 0 ? current.left : current.right;
+		}
+		return null;
+	}
+
+	/**
+	 * Return an iterator over the keys in ascending order (remove() is
+	 * unsupported, nor is concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return keysFrom(null, null);
+	}
+
+	/**
+	 * Return an iterator over the keys that are at least from (or all keys if
+	 * from is null) and less than to (or unbounded if to is null). The iterator
+	 * keeps the path of nodes still to visit on a stack, which starts as the
+	 * path from the root to the first key.
+	 */
+	private Iterator<K> keysFrom(final K from, final K to) {
+		return new Iterator<K>() {
+
+			// the nodes whose keys, and right subtrees, are still to come
+			@SuppressWarnings("unchecked")
+			Node<K, V>[] stack = (Node<K, V>[]) new Node[height(root)];
+			int depth = 0;
+
+			{
+				for (Node<K, V> current = root; current != null;) {
+					if (from == null || from.compareTo(current.key) <= 0) {
+						stack[depth++] = current;
+						current = current.left;
+					} else
+						current = current.right;
+				}
+			}
+
+			public boolean hasNext() {
+				return depth > 0 && (to == null || stack[depth - 1].key.compareTo(to) < 0);
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				Node<K, V> node = stack[--depth];
+				for (Node<K, V> current = node.right; current != null; current = current.left)
+					stack[depth++] = current;
+				return node.key;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		root = put(root, key, val);
+	}
+
+	/**
+	 * Add an association to a subtree.
+	 *
+	 * @return The root of the updated (and rebalanced) subtree
+	 */
+	private Node<K, V> put(Node<K, V> node, K key, V val) {
+		if (node == null) {
+			size++;
+			return new Node<K, V>(key, val);
+		}
+		int c = key.compareTo(node.key);
+		if (c == 0) {
+			// key was already in the map, so just replace the value
+			node.val = val;
+			return node;
+		}
+		if (c < 0)
+			node.left = put(node.left, key, val);
+		else
+			node.right = put(node.right, key, val);
+		return balance(node);
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Node<K, V> node = find(key);
+		return node == null ? null : node.val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && find(key) != null;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		root = remove(root, key);
+	}
+
+	/**
+	 * Remove a key from a subtree.
+	 *
+	 * @return The root of the updated (and rebalanced) subtree
+	 */
+	private Node<K, V> remove(Node<K, V> node, K key) {
+		if (node == null)
+			return null;
+		int c = key.compareTo(node.key);
+		if (c < 0)
+			node.left = remove(node.left, key);
+		else if (c > 0)
+			node.right = remove(node.right, key);
+		else {
+			size--;
+			if (node.left == null)
+				return node.right;
+			if (node.right == null)
+				return node.left;
+			// two children, so the successor takes this node's place
+			Node<K, V> successor = node.right;
+			while (successor.left != null)
+				successor = successor.left;
+			successor.right = removeMin(node.right);
+			successor.left = node.left;
+			node = successor;
+		}
+		return balance(node);
+	}
+
+	/**
+	 * Unlink the leftmost node of a subtree.
+	 *
+	 * @return The root of the updated (and rebalanced) subtree
+	 */
+	private Node<K, V> removeMin(Node<K, V> node) {
+		if (node.left == null)
+			return node.right;
+		node.left = removeMin(node.left);
+		return balance(node);
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The smallest key in the map.
+	 *
+	 * @return The first key, or null if the map is empty
+	 */
+	public K firstKey() {
+		if (root == null)
+			return null;
+		Node<K, V> current = root;
+		while (current.left != null)
+			current = current.left;
+		return current.key;
+	}
+
+	/**
+	 * The largest key in the map.
+	 *
+	 * @return The last key, or null if the map is empty
+	 */
+	public K lastKey() {
+		if (root == null)
+			return null;
+		Node<K, V> current = root;
+		while (current.right != null)
+			current = current.right;
+		return current.key;
+	}
+
+	/**
+	 * The greatest key in the map less than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The floor of the key, or null if there is none
+	 */
+	public K floorKey(K key) {
+		if (key == null)
+			return null;
+		K best = null;
+		Node<K, V> current = root;
+		while (current != null) {
+			int c = key.compareTo(current.key);
+			if (c == 0)
+				return current.key;
+			if (c > 0) {
+				best = current.key;
+				current = current.right;
+			} else
+				current = current.left;
+		}
+		return best;
+	}
+
+	/**
+	 * The least key in the map greater than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The ceiling of the key, or null if there is none
+	 */
+	public K ceilingKey(K key) {
+		if (key == null)
+			return null;
+		K best = null;
+		Node<K, V> current = root;
+		while (current != null) {
+			int c = key.compareTo(current.key);
+			if (c == 0)
+				return current.key;
+			if (c < 0) {
+				best = current.key;
+				current = current.left;
+			} else
+				current = current.right;
+		}
+		return best;
+	}
+
+	/**
+	 * The keys in a range, in ascending order. The range includes fromKey and
+	 * excludes toKey.
+	 *
+	 * @param fromKey
+	 *            The low end of the range (inclusive)
+	 * @param toKey
+	 *            The high end of the range (exclusive)
+	 * @return The keys in the range, in order
+	 */
+	public Iterable<K> subMap(final K fromKey, final K toKey) {
+		if (fromKey == null || toKey == null)
+			throw new NullPointerException();
+		return new Iterable<K>() {
+			public Iterator<K> iterator() {
+				return keysFrom(fromKey, toKey);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
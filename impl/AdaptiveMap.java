@@ -0,0 +1,171 @@
+package impl;
+
+import java.util.Iterator;
+
+import adt.Map;
+
+/**
+ * AdaptiveMap
+ *
+ * Class to implement the Map ADT for programs with many small maps and a few
+ * large ones. While it is small the map is a CompactArrayMap, whose linear
+ * scan is the fastest lookup there is for a handful of keys, with no table to
+ * keep partly empty and no object per entry. When it grows past a threshold (8
+ * keys by default) its associations move into a HashMap, so lookups stay O(1)
+ * however large it gets, and if it shrinks back to half the threshold they
+ * move back into a CompactArrayMap. The gap between the two sizes keeps a map
+ * whose size hovers around the threshold from moving back and forth; each move
+ * costs O(n) but needs at least n/2 puts or removes since the last, so it is
+ * O(1) amortized.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class AdaptiveMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The default size past which the map is hashed.
+	 */
+	private static final int DEFAULT_THRESHOLD = 8;
+
+	/**
+	 * The map is hashed once it holds more than threshold associations, and goes
+	 * back to an array once it holds threshold / 2 or fewer.
+	 */
+	private final int threshold;
+
+	/**
+	 * The map that holds the associations: a CompactArrayMap or a HashMap.
+	 */
+	private Map<K, V> internal;
+
+	/**
+	 * Plain constructor.
+	 */
+	public AdaptiveMap() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Constructor that is given the size past which the map is hashed.
+	 *
+	 * @param threshold
+	 *            The most associations kept in an array, at least 2
+	 */
+	public AdaptiveMap(int threshold) {
+		if (threshold < 2)
+			throw new IllegalArgumentException();
+		this.threshold = threshold;
+		// room for the put that takes it past the threshold, so the array is never
+		// grown just before it is thrown away
+		internal = new CompactArrayMap<K, V>(threshold + 1);
+	}
+
+	/**
+	 * Test whether the map is currently hashed rather than an array.
+	 *
+	 * @return true if the associations are in a HashMap
+	 */
+	public boolean isHashed() {
+		return internal instanceof HashMap;
+	}
+
+	/**
+	 * Copy every association into a new map, and use that from now on.
+	 */
+	private void moveTo(Map<K, V> target) {
+		for (K key : internal)
+			target.put(key, internal.get(key));
+		internal = target;
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return internal.iterator();
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		internal.put(key, val);
+		if (internal.size() > threshold && !isHashed())
+			moveTo(new HashMap<K, V>(2 * threshold));
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		return key == null ? null : internal.get(key);
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && internal.containsKey(key);
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		internal.remove(key);
+		if (internal.size() <= threshold / 2 && isHashed())
+			moveTo(new CompactArrayMap<K, V>(threshold + 1));
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return internal.size();
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : internal) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + internal.get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -0,0 +1,202 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.List;
+
+/**
+ * ArrayList
+ *
+ * Class to implement the List ADT using a growable array. The elements occupy
+ * internal[0..size), so get() and set() are O(1), add() is amortized O(1) (the
+ * array doubles when it fills), and insert() and remove() shift the tail of the
+ * array over with a single System.arraycopy.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <E>
+ *            The base-type of the list
+ */
+public class ArrayList<E> implements List<E> {
+
+	/**
+	 * The default length of the internal array.
+	 */
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/**
+	 * The elements of the list, in order, followed by unused slots.
+	 */
+	private E[] internal;
+
+	/**
+	 * The number of elements in the list.
+	 */
+	private int size = 0;
+
+	/**
+	 * Plain constructor.
+	 */
+	public ArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of elements we expect to store, so
+	 * that a list built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The initial length of the internal array
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayList(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		internal = (E[]) new Object[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * Cause the internal array to double in size.
+	 */
+	@SuppressWarnings("unchecked")
+	private void grow() {
+		E[] temp = (E[]) new Object[internal.length * 2];
+		System.arraycopy(internal, 0, temp, 0, size);
+		internal = temp;
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			int pos = 0;
+
+			public boolean hasNext() {
+				return pos < size;
+			}
+
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return internal[pos++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Append the specified element to the end of this list. This increases the size
+	 * by one.
+	 *
+	 * @param element
+	 *            The element to be appended
+	 */
+	public void add(E element) {
+		if (size == internal.length)
+			grow();
+		internal[size++] = element;
+	}
+
+	/**
+	 * Replace the element at the specified position in this list with the specified
+	 * element. If the index is invalid, an IndexOutOfBoundsException is thrown.
+	 *
+	 * @param index
+	 *            The index of the element to return
+	 * @param element
+	 *            The element at the specified position
+	 */
+	public void set(int index, E element) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+		internal[index] = element;
+	}
+
+	/**
+	 * Retrieve the element at the specified position in this list. If the index is
+	 * invalid, an IndexOutOfBoundsException is thrown.
+	 *
+	 * @param index
+	 *            The index of the element to return
+	 * @return The element at the specified position
+	 */
+	public E get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+		return internal[index];
+	}
+
+	/**
+	 * Insert a new item at the specified position, shifting the item already at the
+	 * position and everything after it over one position. If the index is equal to
+	 * the length of the list, then this is equivalent to the add method. If the
+	 * index is negative or is greater than the length, an IndexOutOfBoundsException
+	 * is thrown.
+	 *
+	 * @param index
+	 *            The index into which to insert the element
+	 * @param element
+	 *            The element which to insert
+	 */
+	public void insert(int index, E element) {
+		if (index < 0 || index > size)
+			throw new IndexOutOfBoundsException();
+		if (size == internal.length)
+			grow();
+
+		// shift everything over to make room for the new item
+		System.arraycopy(internal, index, internal, index + 1, size - index);
+		internal[index] = element;
+		size++;
+	}
+
+	/**
+	 * Remove (and return) the element at the specified position. This reduces the
+	 * size of the list by one and, if necessary, shifts other elements over. If the
+	 * index is invalid, an IndexOutOfBoundsException is thrown.
+	 *
+	 * @param index
+	 *            The index of the element to remove
+	 * @return The item removed
+	 */
+	public E remove(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+
+		E removed = internal[index];
+		System.arraycopy(internal, index + 1, internal, index, size - index - 1);
+
+		// clear the vacated slot so the list doesn't hold on to the element
+		internal[--size] = null;
+		return removed;
+	}
+
+	/**
+	 * Return the number of elements in this list.
+	 *
+	 * @return The number of elements in this list.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (E item : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += item;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -54,11 +54,23 @@ public class ArrayMap<K, V> implements Map<K, V> {
 	/**
 	 * Plain constructor.
 	 */
-	@SuppressWarnings("unchecked")
 	public ArrayMap() {
 		// 100 as length of the initial array is an arbitrary choice.
-		internal = (Association<K, V>[]) new Association[100];
+		this(100);
+	}
 
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a small map doesn't carry a large array.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		internal = (Association<K, V>[]) new Association[Math.max(1, capacity)];
 	}
 
 	/**
@@ -110,8 +122,6 @@ public class ArrayMap<K, V> implements Map<K, V> {
 		if (key == null)
 			return;
 
-		Association<K, V> newVal = new Association<K, V>(key, val);
-
 		int i;
 		for (i = 0; i < size; i++) {
 			if (internal[i].key.equals(key)) {
@@ -125,7 +135,8 @@ public class ArrayMap<K, V> implements Map<K, V> {
 			grow();
 		}
 		
-		internal[i] = newVal;
+		// only a new key needs an association
+		internal[i] = new Association<K, V>(key, val);
 		size++;
 	}
 
@@ -197,6 +208,15 @@ public class ArrayMap<K, V> implements Map<K, V> {
 		}
 	}
 
+	/**
+	 * Return the number of associations in this map.
+	 * 
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
 	@Override
 	public String toString() {
 		String toReturn = "[";
@@ -0,0 +1,145 @@
+package impl;
+
+import java.util.NoSuchElementException;
+
+import adt.Queue;
+
+/**
+ * ArrayQueue
+ *
+ * A class that uses a circular array to implement a queue.
+ * The items live in internal[head..head+size) (wrapping around
+ * the end of the array), so enqueue() and remove() only move
+ * an index instead of shifting items. The array length is
+ * always a power of two, so wrapping is a mask rather than a
+ * modulus, and it doubles when it fills.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ * @param <E> The base-type of the queue
+ */
+
+public class ArrayQueue<E> implements Queue<E> {
+
+    /**
+     * The default length of the internal array.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The longest internal array, the largest power of two an
+     * int can hold.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The items of the queue, front at head.
+     */
+    private E[] internal;
+
+    /**
+     * The index of the front item.
+     */
+    private int head = 0;
+
+    /**
+     * The number of items in the queue.
+     */
+    private int size = 0;
+
+    public ArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor that is given the number of items we expect
+     * to hold at once, so that the queue never has to grow.
+     * @param capacity The expected maximum number of items,
+     *   at most 2^30
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayQueue(int capacity) {
+        if (capacity < 0 || capacity > MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException();
+        int length = 1;
+        while (length < capacity)
+            length *= 2;
+        internal = (E[]) new Object[length];
+    }
+
+    /**
+     * Cause the internal array to double in size, unwrapping
+     * the items so the front is at index 0.
+     */
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        E[] temp = (E[]) new Object[internal.length * 2];
+        int firstPart = internal.length - head;
+        System.arraycopy(internal, head, temp, 0, firstPart);
+        System.arraycopy(internal, 0, temp, firstPart, head);
+        internal = temp;
+        head = 0;
+    }
+
+    /**
+     * Add (enqueue) an item to the back of the queue.
+     * @param item The item to enqueue
+     * @throws FullContainerException if the queue is full
+     */
+    public void enqueue(E item) {
+        if (size == internal.length)
+            grow();
+        internal[(head + size) & (internal.length - 1)] = item;
+        size++;
+    }
+
+    /**
+     * Return but do not remove the front item, ie the
+     * item enqueued longest ago of all the items still
+     * in the stack.
+     * @return The front item in the queue
+     * @throws NoSuchSuchElementException if the queue is empty.
+     */
+    public E front() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return internal[head];
+    }
+
+    /**
+     * Return and remove the front item, ie the
+     * item enqueued longest ago of all the items still
+     * in the stack.
+     * @return The front item in the queue
+     * @throws NoSuchSuchElementException if the queue is empty.
+     */
+    public E remove() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        E item = internal[head];
+        // clear the slot so the queue doesn't hold on to the item
+        internal[head] = null;
+        head = (head + 1) & (internal.length - 1);
+        size--;
+        return item;
+    }
+
+    /**
+     * Is the queue empty?
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        String toReturn = "[";
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                toReturn += ", ";
+            toReturn += internal[(head + i) & (internal.length - 1)];
+        }
+        return toReturn + "]";
+    }
+
+}
@@ -0,0 +1,641 @@
+package impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.SortedMap;
+
+/**
+ * BPlusTreeMap
+ *
+ * Class to implement the SortedMap ADT using a B+-tree. Each node holds up to
+ * a fixed number of keys (64 by default) in one contiguous array, searched by
+ * binary search, so a lookup touches O(log_B n) nodes instead of the O(log n)
+ * scattered nodes of a binary tree, which matters once the map is too large
+ * for the cache. All the associations are in the leaves; the inner nodes hold
+ * only copies of keys to steer searches by. The leaves are linked in key
+ * order, so iteration, subMap() and floor/ceiling step along arrays rather
+ * than up and down the tree.
+ *
+ * Every node but the root stays at least half full: a node that overflows is
+ * split in two, and one that falls below half full borrows a key from a
+ * sibling or, if the sibling has none to spare, is merged with it.
+ *
+ * The constructor that takes keys in ascending order builds the tree bottom up
+ * in O(n), filling every node, which is much faster than putting the keys one
+ * by one.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class BPlusTreeMap<K extends Comparable<K>, V> implements SortedMap<K, V> {
+
+	/**
+	 * The default number of keys a node can hold.
+	 */
+	private static final int DEFAULT_ORDER = 64;
+
+	/**
+	 * Class for the nodes of the tree. keys[0..size) are in ascending order.
+	 */
+	private static abstract class Node {
+		final Object[] keys;
+		int size = 0;
+
+		Node(int order) {
+			// one spare slot, so a node can overflow briefly before it is split
+			keys = new Object[order + 1];
+		}
+	}
+
+	/**
+	 * A leaf, holding associations, and linked to its neighbours.
+	 */
+	private static final class Leaf extends Node {
+		final Object[] vals;
+		Leaf prev, next;
+
+		Leaf(int order) {
+			super(order);
+			vals = new Object[order + 1];
+		}
+	}
+
+	/**
+	 * An inner node with size keys and size + 1 children. The keys of children[i]
+	 * are at least keys[i - 1] and less than keys[i].
+	 */
+	private static final class Inner extends Node {
+		final Node[] children;
+
+		Inner(int order) {
+			super(order);
+			children = new Node[order + 2];
+		}
+	}
+
+	/**
+	 * The most keys a node may hold, and the fewest a node other than the root
+	 * may hold.
+	 */
+	private final int order;
+	private final int minimum;
+
+	private Node root;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private int size = 0;
+
+	/**
+	 * Set by insert() when the node it was called on split: the new node to its
+	 * right, and the least key under it.
+	 */
+	private Node splitNode;
+	private Object splitKey;
+
+	/**
+	 * Plain constructor.
+	 */
+	public BPlusTreeMap() {
+		this(DEFAULT_ORDER);
+	}
+
+	/**
+	 * Constructor that is given how many keys a node can hold.
+	 *
+	 * @param order
+	 *            The maximum number of keys in a node, at least 4
+	 */
+	public BPlusTreeMap(int order) {
+		if (order < 4)
+			throw new IllegalArgumentException();
+		this.order = order;
+		minimum = order / 2;
+		root = new Leaf(order);
+	}
+
+	/**
+	 * Constructor that builds the map from associations given in ascending order
+	 * of key, in O(n).
+	 *
+	 * @param keys
+	 *            The keys, in strictly ascending order and none null
+	 * @param vals
+	 *            The value for each key
+	 */
+	public BPlusTreeMap(K[] keys, V[] vals) {
+		this(DEFAULT_ORDER);
+		if (keys.length != vals.length)
+			throw new IllegalArgumentException();
+		for (int i = 1; i < keys.length; i++)
+			if (keys[i - 1].compareTo(keys[i]) >= 0)
+				throw new IllegalArgumentException("keys are not in ascending order");
+		if (keys.length == 0)
+			return;
+
+		// the leaves, as full as they can be while every one is half full
+		Node[] level = new Node[(keys.length + order - 1) / order];
+		Object[] lows = new Object[level.length];
+		Leaf previous = null;
+		for (int j = 0, from = 0; j < level.length; j++) {
+			int to = (int) ((long) keys.length * (j + 1) / level.length);
+			Leaf leaf = new Leaf(order);
+			System.arraycopy(keys, from, leaf.keys, 0, to - from);
+			System.arraycopy(vals, from, leaf.vals, 0, to - from);
+			leaf.size = to - from;
+			leaf.prev = previous;
+			if (previous != null)
+				previous.next = leaf;
+			previous = leaf;
+			level[j] = leaf;
+			lows[j] = keys[from];
+			from = to;
+		}
+
+		// then each level of inner nodes over the one below
+		while (level.length > 1) {
+			Node[] upper = new Node[(level.length + order) / (order + 1)];
+			Object[] upperLows = new Object[upper.length];
+			for (int j = 0, from = 0; j < upper.length; j++) {
+				int to = (int) ((long) level.length * (j + 1) / upper.length);
+				Inner inner = new Inner(order);
+				System.arraycopy(level, from, inner.children, 0, to - from);
+				System.arraycopy(lows, from + 1, inner.keys, 0, to - from - 1);
+				inner.size = to - from - 1;
+				upper[j] = inner;
+				upperLows[j] = lows[from];
+				from = to;
+			}
+			level = upper;
+			lows = upperLows;
+		}
+		root = level[0];
+		size = keys.length;
+	}
+
+	/**
+	 * Find a key in a node's keys.
+	 *
+	 * @return Its index if present, otherwise -(insertion point) - 1
+	 */
+	private static int search(Node node, Object key) {
+		return Arrays.binarySearch(node.keys, 0, node.size, key);
+	}
+
+	/**
+	 * The index of the child of an inner node under which a key belongs.
+	 */
+	private static int childIndex(Inner node, Object key) {
+		int i = search(node, key);
+		return i >= 0 ? i + 1 : -i - 1;
+	}
+
+	/**
+	 * Find the leaf in which a key belongs.
+	 */
+	private Leaf leafFor(K key) {
+		Node node = root;
+		while (node instanceof Inner) {
+			Inner inner = (Inner) node;
+			node = inner.children[childIndex(inner, key)];
+		}
+		return (Leaf) node;
+	}
+
+	private Leaf firstLeaf() {
+		Node node = root;
+		while (node instanceof Inner)
+			node = ((Inner) node).children[0];
+		return (Leaf) node;
+	}
+
+	/**
+	 * Return an iterator over the keys in ascending order (remove() is
+	 * unsupported, nor is concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return keysFrom(firstLeaf(), 0, null);
+	}
+
+	/**
+	 * Return an iterator over the keys from a position in a leaf on, and less
+	 * than to (or unbounded if to is null).
+	 */
+	private Iterator<K> keysFrom(final Leaf leaf, final int index, final K to) {
+		return new Iterator<K>() {
+
+			// the leaf and index of the next key
+			Leaf current = leaf;
+			int i = index;
+
+			@SuppressWarnings("unchecked")
+			public boolean hasNext() {
+				if (i == current.size && current.next != null) {
+					current = current.next;
+					i = 0;
+				}
+				return i < current.size && (to == null || ((K) current.keys[i]).compareTo(to) < 0);
+			}
+
+			@SuppressWarnings("unchecked")
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return (K) current.keys[i++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		insert(root, key, val);
+		if (splitNode != null) {
+			// the root split, so the tree grows a level
+			Inner newRoot = new Inner(order);
+			newRoot.keys[0] = splitKey;
+			newRoot.children[0] = root;
+			newRoot.children[1] = splitNode;
+			newRoot.size = 1;
+			root = newRoot;
+			splitNode = null;
+			splitKey = null;
+		}
+	}
+
+	/**
+	 * Add an association under a node. If the node overflows it is split, and
+	 * the new right half is left in splitNode.
+	 */
+	private void insert(Node node, K key, V val) {
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			int i = search(leaf, key);
+			if (i >= 0) {
+				// key was already in the map, so just replace the value
+				leaf.vals[i] = val;
+				return;
+			}
+			i = -i - 1;
+			System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+			System.arraycopy(leaf.vals, i, leaf.vals, i + 1, leaf.size - i);
+			leaf.keys[i] = key;
+			leaf.vals[i] = val;
+			leaf.size++;
+			size++;
+			if (leaf.size > order)
+				splitLeaf(leaf);
+			return;
+		}
+
+		Inner inner = (Inner) node;
+		int c = childIndex(inner, key);
+		insert(inner.children[c], key, val);
+		if (splitNode == null)
+			return;
+		System.arraycopy(inner.keys, c, inner.keys, c + 1, inner.size - c);
+		System.arraycopy(inner.children, c + 1, inner.children, c + 2, inner.size - c);
+		inner.keys[c] = splitKey;
+		inner.children[c + 1] = splitNode;
+		inner.size++;
+		splitNode = null;
+		if (inner.size > order)
+			splitInner(inner);
+	}
+
+	private void splitLeaf(Leaf leaf) {
+		Leaf right = new Leaf(order);
+		int half = leaf.size / 2;
+		right.size = leaf.size - half;
+		System.arraycopy(leaf.keys, half, right.keys, 0, right.size);
+		System.arraycopy(leaf.vals, half, right.vals, 0, right.size);
+		Arrays.fill(leaf.keys, half, leaf.size, null);
+		Arrays.fill(leaf.vals, half, leaf.size, null);
+		leaf.size = half;
+		right.next = leaf.next;
+		if (right.next != null)
+			right.next.prev = right;
+		right.prev = leaf;
+		leaf.next = right;
+		splitNode = right;
+		splitKey = right.keys[0];
+	}
+
+	private void splitInner(Inner inner) {
+		Inner right = new Inner(order);
+		int half = inner.size / 2;
+		// keys[half] moves up to the parent
+		right.size = inner.size - half - 1;
+		System.arraycopy(inner.keys, half + 1, right.keys, 0, right.size);
+		System.arraycopy(inner.children, half + 1, right.children, 0, right.size + 1);
+		splitKey = inner.keys[half];
+		Arrays.fill(inner.keys, half, inner.size, null);
+		Arrays.fill(inner.children, half + 1, inner.size + 1, null);
+		inner.size = half;
+		splitNode = right;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Leaf leaf = leafFor(key);
+		int i = search(leaf, key);
+		return i < 0 ? null : (V) leaf.vals[i];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && search(leafFor(key), key) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		delete(root, key);
+		if (root instanceof Inner && root.size == 0)
+			// the root's children merged, so the tree loses a level
+			root = ((Inner) root).children[0];
+	}
+
+	/**
+	 * Remove a key from under a node, then repair any child left less than half
+	 * full.
+	 */
+	private void delete(Node node, K key) {
+		if (node instanceof Leaf) {
+			Leaf leaf = (Leaf) node;
+			int i = search(leaf, key);
+			if (i < 0)
+				return;
+			System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+			System.arraycopy(leaf.vals, i + 1, leaf.vals, i, leaf.size - i - 1);
+			leaf.size--;
+			leaf.keys[leaf.size] = null;
+			leaf.vals[leaf.size] = null;
+			size--;
+			return;
+		}
+
+		Inner inner = (Inner) node;
+		int c = childIndex(inner, key);
+		Node child = inner.children[c];
+		delete(child, key);
+		if (child.size >= minimum)
+			return;
+
+		// borrow from a sibling that can spare a key, or else merge with one
+		Node left = c > 0 ? inner.children[c - 1] : null;
+		Node right = c < inner.size ? inner.children[c + 1] : null;
+		if (left != null && left.size > minimum)
+			borrowFromLeft(inner, c);
+		else if (right != null && right.size > minimum)
+			borrowFromRight(inner, c);
+		else if (left != null)
+			merge(inner, c - 1);
+		else
+			merge(inner, c);
+	}
+
+	/**
+	 * Move the last key of children[c - 1] to the front of children[c].
+	 */
+	private void borrowFromLeft(Inner parent, int c) {
+		Node left = parent.children[c - 1];
+		Node child = parent.children[c];
+		System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+		if (child instanceof Leaf) {
+			Leaf l = (Leaf) left, leaf = (Leaf) child;
+			System.arraycopy(leaf.vals, 0, leaf.vals, 1, leaf.size);
+			leaf.keys[0] = l.keys[l.size - 1];
+			leaf.vals[0] = l.vals[l.size - 1];
+			l.vals[l.size - 1] = null;
+			parent.keys[c - 1] = leaf.keys[0];
+		} else {
+			Inner l = (Inner) left, inner = (Inner) child;
+			// rotate through the parent
+			System.arraycopy(inner.children, 0, inner.children, 1, inner.size + 1);
+			inner.keys[0] = parent.keys[c - 1];
+			inner.children[0] = l.children[l.size];
+			l.children[l.size] = null;
+			parent.keys[c - 1] = l.keys[l.size - 1];
+		}
+		left.keys[left.size - 1] = null;
+		left.size--;
+		child.size++;
+	}
+
+	/**
+	 * Move the first key of children[c + 1] to the end of children[c].
+	 */
+	private void borrowFromRight(Inner parent, int c) {
+		Node child = parent.children[c];
+		Node right = parent.children[c + 1];
+		if (child instanceof Leaf) {
+			Leaf leaf = (Leaf) child, r = (Leaf) right;
+			leaf.keys[leaf.size] = r.keys[0];
+			leaf.vals[leaf.size] = r.vals[0];
+			System.arraycopy(r.vals, 1, r.vals, 0, r.size - 1);
+			r.vals[r.size - 1] = null;
+			System.arraycopy(r.keys, 1, r.keys, 0, r.size - 1);
+			parent.keys[c] = r.keys[0];
+		} else {
+			Inner inner = (Inner) child, r = (Inner) right;
+			// rotate through the parent
+			inner.keys[inner.size] = parent.keys[c];
+			inner.children[inner.size + 1] = r.children[0];
+			parent.keys[c] = r.keys[0];
+			System.arraycopy(r.keys, 1, r.keys, 0, r.size - 1);
+			System.arraycopy(r.children, 1, r.children, 0, r.size);
+			r.children[r.size] = null;
+		}
+		right.keys[right.size - 1] = null;
+		right.size--;
+		child.size++;
+	}
+
+	/**
+	 * Merge children[c + 1] into children[c], and drop it and the key between
+	 * them from the parent.
+	 */
+	private void merge(Inner parent, int c) {
+		Node left = parent.children[c];
+		Node right = parent.children[c + 1];
+		if (left instanceof Leaf) {
+			Leaf l = (Leaf) left, r = (Leaf) right;
+			System.arraycopy(r.keys, 0, l.keys, l.size, r.size);
+			System.arraycopy(r.vals, 0, l.vals, l.size, r.size);
+			l.size += r.size;
+			l.next = r.next;
+			if (l.next != null)
+				l.next.prev = l;
+		} else {
+			Inner l = (Inner) left, r = (Inner) right;
+			// the parent's key comes down between them
+			l.keys[l.size] = parent.keys[c];
+			System.arraycopy(r.keys, 0, l.keys, l.size + 1, r.size);
+			System.arraycopy(r.children, 0, l.children, l.size + 1, r.size + 1);
+			l.size += r.size + 1;
+		}
+		System.arraycopy(parent.keys, c + 1, parent.keys, c, parent.size - c - 1);
+		System.arraycopy(parent.children, c + 2, parent.children, c + 1, parent.size - c - 1);
+		parent.size--;
+		parent.keys[parent.size] = null;
+		parent.children[parent.size + 1] = null;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The smallest key in the map.
+	 *
+	 * @return The first key, or null if the map is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public K firstKey() {
+		Leaf leaf = firstLeaf();
+		return leaf.size == 0 ? null : (K) leaf.keys[0];
+	}
+
+	/**
+	 * The largest key in the map.
+	 *
+	 * @return The last key, or null if the map is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public K lastKey() {
+		Node node = root;
+		while (node instanceof Inner)
+			node = ((Inner) node).children[node.size];
+		return node.size == 0 ? null : (K) node.keys[node.size - 1];
+	}
+
+	/**
+	 * The greatest key in the map less than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The floor of the key, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public K floorKey(K key) {
+		if (key == null)
+			return null;
+		Leaf leaf = leafFor(key);
+		int i = search(leaf, key);
+		if (i >= 0)
+			return (K) leaf.keys[i];
+		i = -i - 2;
+		if (i >= 0)
+			return (K) leaf.keys[i];
+		// every key here is greater, so the floor ends the previous leaf
+		return leaf.prev == null ? null : (K) leaf.prev.keys[leaf.prev.size - 1];
+	}
+
+	/**
+	 * The least key in the map greater than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The ceiling of the key, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public K ceilingKey(K key) {
+		if (key == null)
+			return null;
+		Leaf leaf = leafFor(key);
+		int i = search(leaf, key);
+		if (i < 0)
+			i = -i - 1;
+		if (i < leaf.size)
+			return (K) leaf.keys[i];
+		// every key here is less, so the ceiling starts the next leaf
+		return leaf.next == null ? null : (K) leaf.next.keys[0];
+	}
+
+	/**
+	 * The keys in a range, in ascending order. The range includes fromKey and
+	 * excludes toKey.
+	 *
+	 * @param fromKey
+	 *            The low end of the range (inclusive)
+	 * @param toKey
+	 *            The high end of the range (exclusive)
+	 * @return The keys in the range, in order
+	 */
+	public Iterable<K> subMap(final K fromKey, final K toKey) {
+		if (fromKey == null || toKey == null)
+			throw new NullPointerException();
+		return new Iterable<K>() {
+			public Iterator<K> iterator() {
+				Leaf leaf = leafFor(fromKey);
+				int i = search(leaf, fromKey);
+				return keysFrom(leaf, i >= 0 ? i : -i - 1, toKey);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+			for (int i = 0; i < leaf.size; i++) {
+				if (prefix)
+					toReturn += ", ";
+				toReturn += leaf.keys[i] + "=" + leaf.vals[i];
+				prefix = true;
+			}
+		}
+		return toReturn + "]";
+	}
+
+}
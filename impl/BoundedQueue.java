@@ -0,0 +1,122 @@
+package impl;
+
+import java.util.NoSuchElementException;
+
+import adt.FullContainerException;
+import adt.Queue;
+
+/**
+ * BoundedQueue
+ *
+ * A class that uses a fixed-size circular array to implement
+ * a queue. The array is allocated once, in the constructor, and
+ * enqueue() and remove() never allocate after that; enqueuing
+ * onto a queue that already holds its capacity throws a
+ * FullContainerException instead of growing.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ * @param <E> The base-type of the queue
+ */
+
+public class BoundedQueue<E> implements Queue<E> {
+
+    /**
+     * The items of the queue, front at head.
+     */
+    private final E[] internal;
+
+    /**
+     * The index of the front item.
+     */
+    private int head = 0;
+
+    /**
+     * The number of items in the queue.
+     */
+    private int size = 0;
+
+    /**
+     * Constructor that is given the most items the queue may hold.
+     * @param capacity The maximum number of items
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException();
+        internal = (E[]) new Object[capacity];
+    }
+
+    /**
+     * Add (enqueue) an item to the back of the queue.
+     * @param item The item to enqueue
+     * @throws FullContainerException if the queue is full
+     */
+    public void enqueue(E item) {
+        if (size == internal.length)
+            throw new FullContainerException();
+        int tail = head + size;
+        if (tail >= internal.length)
+            tail -= internal.length;
+        internal[tail] = item;
+        size++;
+    }
+
+    /**
+     * Return but do not remove the front item, ie the
+     * item enqueued longest ago of all the items still
+     * in the stack.
+     * @return The front item in the queue
+     * @throws NoSuchSuchElementException if the queue is empty.
+     */
+    public E front() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return internal[head];
+    }
+
+    /**
+     * Return and remove the front item, ie the
+     * item enqueued longest ago of all the items still
+     * in the stack.
+     * @return The front item in the queue
+     * @throws NoSuchSuchElementException if the queue is empty.
+     */
+    public E remove() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        E item = internal[head];
+        internal[head] = null;
+        if (++head == internal.length)
+            head = 0;
+        size--;
+        return item;
+    }
+
+    /**
+     * Is the queue empty?
+     * @return true if the queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Is the queue full, so that the next enqueue() would throw?
+     * @return true if the queue is full, false otherwise
+     */
+    public boolean isFull() {
+        return size == internal.length;
+    }
+
+    @Override
+    public String toString() {
+        String toReturn = "[";
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                toReturn += ", ";
+            toReturn += internal[(head + i) % internal.length];
+        }
+        return toReturn + "]";
+    }
+
+}
@@ -0,0 +1,110 @@
+package impl;
+
+import java.util.NoSuchElementException;
+
+import adt.FullContainerException;
+import adt.Stack;
+
+/**
+ * BoundedStack
+ *
+ * A class that uses a fixed-size array to implement a stack.
+ * The array is allocated once, in the constructor, and push()
+ * and pop() never allocate after that; pushing onto a stack
+ * that already holds its capacity throws a FullContainerException
+ * instead of growing.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ * @param <E> The base-type of the stack
+ */
+
+public class BoundedStack<E> implements Stack<E> {
+
+    /**
+     * The items of the stack, bottom at index 0.
+     */
+    private final E[] internal;
+
+    /**
+     * The number of items in the stack.
+     */
+    private int size = 0;
+
+    /**
+     * Constructor that is given the most items the stack may hold.
+     * @param capacity The maximum number of items
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedStack(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException();
+        internal = (E[]) new Object[capacity];
+    }
+
+    /**
+     * Add (push) an item to the top of the stack.
+     * @param item The item to push
+     * @throws FullContainerException if the stack is full
+     */
+    public void push(E item) {
+        if (size == internal.length)
+            throw new FullContainerException();
+        internal[size++] = item;
+    }
+
+    /**
+     * Return but do not remove the top item, ie the
+     * item most recently pushed of all the items still in
+     * the stack.
+     * @return The top item in the stack
+     * @throws NoSuchSuchElementException if the stack is empty.
+     */
+    public E top() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return internal[size - 1];
+    }
+
+    /**
+     * Return and remove the top item, ie the
+     * item most recently pushed of all the items still in
+     * the stack.
+     * @return The top item in the stack
+     * @throws NoSuchSuchElementException if the stack is empty.
+     */
+    public E pop() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        E item = internal[--size];
+        internal[size] = null;
+        return item;
+    }
+
+    /**
+     * Is the stack empty?
+     * @return true if the stack is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Is the stack full, so that the next push() would throw?
+     * @return true if the stack is full, false otherwise
+     */
+    public boolean isFull() {
+        return size == internal.length;
+    }
+
+    @Override
+    public String toString() {
+        String toReturn = "[";
+        for (int i = size - 1; i >= 0; i--) {
+            toReturn += internal[i];
+            if (i > 0)
+                toReturn += ", ";
+        }
+        return toReturn + "]";
+    }
+
+}
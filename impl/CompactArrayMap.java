@@ -0,0 +1,217 @@
+package impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * CompactArrayMap
+ *
+ * Class to implement the Map ADT using parallel arrays, for the many small maps
+ * a program may hold. Like ArrayMap it keeps its associations packed at the
+ * front of an array and finds a key by a linear scan, but instead of an array
+ * of Association objects it has three flat arrays: the keys, the values, and
+ * the keys' hash codes. So an entry costs two references and an int rather
+ * than a reference to an object with a header and two references of its own,
+ * about half the memory, and nothing is allocated per put. The scan compares
+ * the cached hash codes first and calls equals() only when they match, which
+ * for keys with an expensive equals() (strings, say) saves nearly all of its
+ * calls.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class CompactArrayMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The default length of the arrays of a new map.
+	 */
+	private static final int DEFAULT_CAPACITY = 8;
+
+	/**
+	 * The keys, their values and their hash codes, in slots 0 to size - 1.
+	 */
+	private Object[] keys;
+	private Object[] vals;
+	private int[] hashes;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private int size = 0;
+
+	/**
+	 * Plain constructor.
+	 */
+	public CompactArrayMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public CompactArrayMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		capacity = Math.max(1, capacity);
+		keys = new Object[capacity];
+		vals = new Object[capacity];
+		hashes = new int[capacity];
+	}
+
+	/**
+	 * Find the slot that holds a key.
+	 *
+	 * @return The slot, or -1 if the key is not in the map
+	 */
+	private int indexOf(Object key, int hash) {
+		for (int i = 0; i < size; i++)
+			if (hashes[i] == hash && key.equals(keys[i]))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Double the length of the arrays.
+	 */
+	private void grow() {
+		int length = keys.length * 2;
+		keys = Arrays.copyOf(keys, length);
+		vals = Arrays.copyOf(vals, length);
+		hashes = Arrays.copyOf(hashes, length);
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the slot of the next key
+			int current = 0;
+
+			public boolean hasNext() {
+				return current < size;
+			}
+
+			@SuppressWarnings("unchecked")
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return (K) keys[current++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		int hash = key.hashCode();
+		int i = indexOf(key, hash);
+		if (i >= 0) {
+			// key was already in the map, so just replace the value
+			vals[i] = val;
+			return;
+		}
+		if (size == keys.length)
+			grow();
+		keys[size] = key;
+		vals[size] = val;
+		hashes[size] = hash;
+		size++;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		if (key == null)
+			return null;
+		int i = indexOf(key, key.hashCode());
+		return i < 0 ? null : (V) vals[i];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && indexOf(key, key.hashCode()) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists. The last association
+	 * moves into its slot.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int i = indexOf(key, key.hashCode());
+		if (i < 0)
+			return;
+		size--;
+		keys[i] = keys[size];
+		vals[i] = vals[size];
+		hashes[i] = hashes[size];
+		keys[size] = null;
+		vals[size] = null;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		for (int i = 0; i < size; i++) {
+			if (i > 0)
+				toReturn += ", ";
+			toReturn += keys[i] + "=" + vals[i];
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -0,0 +1,528 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * CuckooMap
+ *
+ * Class to implement the Map ADT using bucketized cuckoo hashing. The table is
+ * an array of buckets of four slots each, and every key has two candidate
+ * buckets, chosen by two differently seeded hash functions; a key is always in
+ * one of its two buckets or in a small stash on the side. So get(),
+ * containsKey() and remove() look at no more than eight slots plus the stash,
+ * whatever the size of the map, which bounds the worst case and not only the
+ * average.
+ *
+ * put() places a new key in a free slot of either bucket if there is one.
+ * Otherwise it evicts a key from one of them, which moves to its own other
+ * bucket, possibly evicting another, and so on. If that walk goes on too long
+ * (which means the keys have formed a cycle), the key left over goes into the
+ * stash, and if the stash is full the whole table is rebuilt with new hash
+ * seeds (and doubled if rebuilding at the same size keeps failing). The table
+ * also doubles when it is nine-tenths full.
+ *
+ * Keys whose hash codes are identical always share both buckets, so if more
+ * than eight keys have the same hash code the stash has to be allowed to grow
+ * to hold them, and lookups of those keys degrade to a scan of the stash.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class CuckooMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The number of slots in a bucket.
+	 */
+	private static final int SLOTS = 4;
+
+	/**
+	 * The default number of buckets in a new table.
+	 */
+	private static final int DEFAULT_BUCKETS = 4;
+
+	/**
+	 * How many keys an insertion may evict before giving up.
+	 */
+	private static final int MAX_KICKS = 500;
+
+	/**
+	 * The usual number of entries the stash may hold.
+	 */
+	private static final int STASH = 4;
+
+	/**
+	 * How many rebuilds at one size may fail before the table is doubled.
+	 */
+	private static final int REBUILDS_PER_SIZE = 4;
+
+	/**
+	 * The keys of the table, bucket b in slots [SLOTS*b, SLOTS*b+SLOTS); a null
+	 * slot is empty.
+	 */
+	private K[] keys;
+
+	/**
+	 * The values of the table, parallel to keys.
+	 */
+	private V[] vals;
+
+	/**
+	 * The hash code of the key in each slot, parallel to keys, so moving a key
+	 * to its other bucket doesn't call hashCode() again.
+	 */
+	private int[] hashes;
+
+	/**
+	 * The stash, for keys that couldn't be placed in either bucket.
+	 */
+	private K[] stashKeys;
+	private V[] stashVals;
+	private int stashSize = 0;
+
+	/**
+	 * How many entries the stash may hold before the table is rebuilt. This is
+	 * STASH unless keys with identical hash codes have forced it higher.
+	 */
+	private int stashLimit = STASH;
+
+	/**
+	 * The seeds of the two hash functions.
+	 */
+	private int seed1, seed2;
+
+	/**
+	 * State of the random number generator that picks which key to evict, and
+	 * new seeds. (xorshift, so runs are repeatable.)
+	 */
+	private int random = 0x2545F491;
+
+	/**
+	 * The number of associations in the map (including the stash).
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of associations at which the table is doubled.
+	 */
+	private int threshold;
+
+	/**
+	 * The key and value left without a slot when an insertion gives up.
+	 */
+	private K homelessKey;
+	private V homelessVal;
+	private int homelessHash;
+
+	/**
+	 * Plain constructor.
+	 */
+	public CuckooMap() {
+		this(0);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	@SuppressWarnings("unchecked")
+	public CuckooMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int buckets = DEFAULT_BUCKETS;
+		while (buckets * SLOTS * 9 / 10 < capacity)
+			buckets *= 2;
+		stashKeys = (K[]) new Object[STASH];
+		stashVals = (V[]) new Object[STASH];
+		allocate(buckets);
+	}
+
+	/**
+	 * Replace the table with an empty one with the given number of buckets and
+	 * fresh hash seeds. The stash is left alone.
+	 */
+	@SuppressWarnings("unchecked")
+	private void allocate(int buckets) {
+		keys = (K[]) new Object[buckets * SLOTS];
+		vals = (V[]) new Object[buckets * SLOTS];
+		hashes = new int[buckets * SLOTS];
+		threshold = buckets * SLOTS * 9 / 10;
+		seed1 = nextRandom();
+		seed2 = nextRandom();
+	}
+
+	private int nextRandom() {
+		random ^= random << 13;
+		random ^= random >>> 17;
+		random ^= random << 5;
+		return random;
+	}
+
+	/**
+	 * One of the two hash functions: mix the key's hash code with a seed (the
+	 * murmur3 finalizer) and keep enough bits to pick a bucket.
+	 */
+	private int bucket(int hash, int seed) {
+		int h = hash ^ seed;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h & (keys.length / SLOTS - 1);
+	}
+
+	private int bucket1(int hash) {
+		return bucket(hash, seed1);
+	}
+
+	/**
+	 * The second bucket, which is never the same as the first.
+	 */
+	private int bucket2(int hash) {
+		int b = bucket(hash, seed2);
+		return b != bucket1(hash) ? b : b ^ 1;
+	}
+
+	/**
+	 * Find a key in a bucket.
+	 *
+	 * @return The slot holding the key, or -1 if it isn't in the bucket
+	 */
+	private int find(int bucket, K key, int hash) {
+		int end = bucket * SLOTS + SLOTS;
+		for (int i = bucket * SLOTS; i < end; i++)
+			if (keys[i] != null && hashes[i] == hash && keys[i].equals(key))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Find the slot that holds a key.
+	 *
+	 * @return The slot holding the key, -2 - i if it's at index i of the stash,
+	 *         or -1 if it isn't in the map
+	 */
+	private int indexOf(K key) {
+		int hash = key.hashCode();
+		int i = find(bucket1(hash), key, hash);
+		if (i >= 0)
+			return i;
+		i = find(bucket2(hash), key, hash);
+		if (i >= 0)
+			return i;
+		for (int j = 0; j < stashSize; j++)
+			if (stashKeys[j].equals(key))
+				return -2 - j;
+		return -1;
+	}
+
+	/**
+	 * Place an entry in a free slot of a bucket, if it has one.
+	 *
+	 * @return true if the entry was placed
+	 */
+	private boolean placeIn(int bucket, K key, V val, int hash) {
+		int end = bucket * SLOTS + SLOTS;
+		for (int i = bucket * SLOTS; i < end; i++) {
+			if (keys[i] == null) {
+				keys[i] = key;
+				vals[i] = val;
+				hashes[i] = hash;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Insert an entry known not to be in the map into the table (not the stash),
+	 * evicting keys to their other buckets as needed.
+	 *
+	 * @return true if every key found a slot; false if the walk gave up, in which
+	 *         case the key left over is in homelessKey
+	 */
+	private boolean tryInsert(K key, V val, int hash) {
+		int b1 = bucket1(hash);
+		if (placeIn(b1, key, val, hash))
+			return true;
+		int b = bucket2(hash);
+		if (placeIn(b, key, val, hash))
+			return true;
+		if ((nextRandom() & 1) == 0)
+			b = b1;
+
+		for (int kicks = 0; kicks < MAX_KICKS; kicks++) {
+			// evict a random key of the bucket and put ours in its place
+			int i = b * SLOTS + (nextRandom() & (SLOTS - 1));
+			K k = keys[i];
+			V v = vals[i];
+			int h = hashes[i];
+			keys[i] = key;
+			vals[i] = val;
+			hashes[i] = hash;
+			key = k;
+			val = v;
+			hash = h;
+
+			// the evicted key goes to whichever of its buckets it wasn't in
+			b1 = bucket1(hash);
+			b = b1 != b ? b1 : bucket2(hash);
+			if (placeIn(b, key, val, hash))
+				return true;
+		}
+		homelessKey = key;
+		homelessVal = val;
+		homelessHash = hash;
+		return false;
+	}
+
+	/**
+	 * Insert an entry known not to be in the map, into the table or else the
+	 * stash.
+	 *
+	 * @return false if neither has room, in which case the entry is in
+	 *         homelessKey
+	 */
+	private boolean insert(K key, V val, int hash) {
+		if (tryInsert(key, val, hash))
+			return true;
+		if (stashSize < stashLimit) {
+			stash(homelessKey, homelessVal);
+			homelessKey = null;
+			homelessVal = null;
+			return true;
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stash(K key, V val) {
+		if (stashSize == stashKeys.length) {
+			K[] tempKeys = (K[]) new Object[stashKeys.length * 2];
+			V[] tempVals = (V[]) new Object[stashKeys.length * 2];
+			System.arraycopy(stashKeys, 0, tempKeys, 0, stashSize);
+			System.arraycopy(stashVals, 0, tempVals, 0, stashSize);
+			stashKeys = tempKeys;
+			stashVals = tempVals;
+		}
+		stashKeys[stashSize] = key;
+		stashVals[stashSize] = val;
+		stashSize++;
+	}
+
+	/**
+	 * Rebuild the table with new seeds and at least the given number of buckets,
+	 * also placing the homeless entry if there is one. If the entries won't all
+	 * fit, try again with other seeds, and after several failures double the
+	 * table or, if it is under half full (so the trouble must be identical hash
+	 * codes), let the stash grow.
+	 */
+	@SuppressWarnings("unchecked")
+	private void rebuild(int buckets) {
+		// gather every entry
+		int count = size;
+		K[] allKeys = (K[]) new Object[count];
+		V[] allVals = (V[]) new Object[count];
+		int[] allHashes = new int[count];
+		int n = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				allKeys[n] = keys[i];
+				allVals[n] = vals[i];
+				allHashes[n++] = hashes[i];
+			}
+		}
+		for (int j = 0; j < stashSize; j++) {
+			allKeys[n] = stashKeys[j];
+			allVals[n] = stashVals[j];
+			allHashes[n++] = stashKeys[j].hashCode();
+			stashKeys[j] = null;
+			stashVals[j] = null;
+		}
+		if (homelessKey != null) {
+			allKeys[n] = homelessKey;
+			allVals[n] = homelessVal;
+			allHashes[n++] = homelessHash;
+			homelessKey = null;
+			homelessVal = null;
+		}
+
+		for (int attempt = 1;; attempt++) {
+			allocate(buckets);
+			stashSize = 0;
+			boolean placed = true;
+			for (int j = 0; j < n && placed; j++)
+				placed = insert(allKeys[j], allVals[j], allHashes[j]);
+			if (placed)
+				return;
+			homelessKey = null;
+			homelessVal = null;
+			for (int j = 0; j < stashSize; j++) {
+				stashKeys[j] = null;
+				stashVals[j] = null;
+			}
+			if (attempt % REBUILDS_PER_SIZE == 0) {
+				// a table under half full that keeps failing has too many keys
+				// with the same hash code, and a bigger table won't help them
+				if (n > buckets * SLOTS / 2)
+					buckets *= 2;
+				else
+					stashLimit *= 2;
+			}
+		}
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the next slot to look at; slots past the table are in the stash
+			int current = 0;
+
+			public boolean hasNext() {
+				while (current < keys.length && keys[current] == null)
+					current++;
+				return current < keys.length + stashSize;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int i = current++;
+				return i < keys.length ? keys[i] : stashKeys[i - keys.length];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+
+		int i = indexOf(key);
+		if (i >= 0) {
+			// key was already in the map, so just replace the value
+			vals[i] = val;
+			return;
+		}
+		if (i < -1) {
+			stashVals[-2 - i] = val;
+			return;
+		}
+
+		size++;
+		if (size > threshold) {
+			homelessKey = key;
+			homelessVal = val;
+			homelessHash = key.hashCode();
+			rebuild(keys.length / SLOTS * 2);
+		} else if (!insert(key, val, key.hashCode()))
+			rebuild(keys.length / SLOTS);
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		int i = indexOf(key);
+		if (i >= 0)
+			return vals[i];
+		if (i < -1)
+			return stashVals[-2 - i];
+		return null;
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && indexOf(key) != -1;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int i = indexOf(key);
+		if (i == -1)
+			return;
+		if (i >= 0) {
+			keys[i] = null;
+			vals[i] = null;
+		} else {
+			// fill the hole in the stash with its last entry
+			int j = -2 - i;
+			stashSize--;
+			stashKeys[j] = stashKeys[stashSize];
+			stashVals[j] = stashVals[stashSize];
+			stashKeys[stashSize] = null;
+			stashVals[stashSize] = null;
+		}
+		size--;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
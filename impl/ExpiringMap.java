@@ -0,0 +1,401 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import adt.Map;
+
+/**
+ * ExpiringMap
+ *
+ * Class to implement the Map ADT for entries that expire a set time after they
+ * are put, such as session tokens. get() and containsKey() never see an
+ * expired entry, and expired entries are dropped as time passes without ever
+ * scanning the whole map.
+ *
+ * To find the entries due to expire, each one is filed in a hierarchical
+ * timing wheel: four levels of 64 slots, where a slot of the first level holds
+ * the entries expiring in one particular tick (a millisecond), a slot of the
+ * second level those expiring in one particular run of 64 ticks, and so on, so
+ * the wheel spans 64^4 ticks (about four and a half hours) ahead. An entry is
+ * filed in the lowest level whose slots are fine enough to hold it. Each
+ * operation first advances the wheel to the current time: it drops the entries
+ * in the first-level slots that have passed, and when a higher-level slot comes
+ * due its entries are refiled in the levels below. Each entry is refiled at
+ * most once per level, so expiring costs amortized O(1) per entry, and
+ * advancing past a slot with nothing in it is one check.
+ *
+ * Time comes from a Clock, which tests can replace with one they advance by
+ * hand.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map (including ones that have expired), and null keys are
+ * ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class ExpiringMap<K, V> implements Map<K, V> {
+
+	/**
+	 * A source of time for an ExpiringMap.
+	 */
+	public interface Clock {
+
+		/**
+		 * System.nanoTime().
+		 */
+		Clock SYSTEM = new Clock() {
+			public long nanoTime() {
+				return System.nanoTime();
+			}
+		};
+
+		/**
+		 * The current time in nanoseconds, measured from any fixed origin. It must
+		 * never go backwards.
+		 *
+		 * @return The current time
+		 */
+		long nanoTime();
+	}
+
+	/**
+	 * The length of a tick, the resolution of the wheel.
+	 */
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static final int LEVELS = 4;
+
+	/**
+	 * The number of slots in each level, and its log.
+	 */
+	private static final int SLOTS = 64;
+	private static final int SLOT_BITS = 6;
+
+	/**
+	 * Class for the entries, which are also the nodes of the slots' lists.
+	 */
+	private static class Node<K, V> {
+		K key;
+		V val;
+
+		// when the entry expires, in nanoseconds since origin, and the tick at
+		// which it is due to be dropped (the first tick at or after that)
+		long expiresAt;
+		long tick;
+
+		Node<K, V> prev, next;
+
+		Node(K key, V val) {
+			this.key = key;
+			this.val = val;
+		}
+	}
+
+	/**
+	 * The index from each key to its entry.
+	 */
+	private final HashMap<K, Node<K, V>> index = new HashMap<K, Node<K, V>>();
+
+	/**
+	 * The sentinels of the slots' circular lists, by level and slot.
+	 */
+	private final Node<K, V>[][] wheel;
+
+	private final Clock clock;
+
+	/**
+	 * The clock's reading when the map was made; all times are measured from it.
+	 */
+	private final long origin;
+
+	/**
+	 * The time-to-live of entries put with put(key, val), in nanoseconds.
+	 */
+	private final long defaultTtl;
+
+	/**
+	 * The tick the wheel has been advanced to.
+	 */
+	private long currentTick = 0;
+
+	/**
+	 * Constructor that is given how long entries live, using the system clock.
+	 *
+	 * @param ttl
+	 *            The time-to-live of entries put with put(key, val)
+	 * @param unit
+	 *            The unit of ttl
+	 */
+	public ExpiringMap(long ttl, TimeUnit unit) {
+		this(ttl, unit, Clock.SYSTEM);
+	}
+
+	/**
+	 * Constructor that is given how long entries live and a clock.
+	 *
+	 * @param ttl
+	 *            The time-to-live of entries put with put(key, val)
+	 * @param unit
+	 *            The unit of ttl
+	 * @param clock
+	 *            The source of time
+	 */
+	@SuppressWarnings("unchecked")
+	public ExpiringMap(long ttl, TimeUnit unit, Clock clock) {
+		if (ttl <= 0)
+			throw new IllegalArgumentException();
+		defaultTtl = unit.toNanos(ttl);
+		this.clock = clock;
+		origin = clock.nanoTime();
+		wheel = (Node<K, V>[][]) new Node[LEVELS][SLOTS];
+		for (Node<K, V>[] level : wheel) {
+			for (int slot = 0; slot < SLOTS; slot++) {
+				level[slot] = new Node<K, V>(null, null);
+				level[slot].prev = level[slot].next = level[slot];
+			}
+		}
+	}
+
+	/**
+	 * The current time, in nanoseconds since origin, after advancing the wheel to
+	 * it.
+	 */
+	private long now() {
+		long now = clock.nanoTime() - origin;
+		advance(now / TICK_NANOS);
+		return now;
+	}
+
+	private void unlink(Node<K, V> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+	}
+
+	/**
+	 * File an entry, which is due after the current tick, in the lowest level
+	 * whose slots can tell its tick from the current one. Entries beyond the
+	 * reach of the top level go in its furthest slot, and are refiled from there.
+	 */
+	private void schedule(Node<K, V> node) {
+		int level = 0;
+		long slot = node.tick;
+		while (level < LEVELS - 1 && slot - (currentTick >> (level * SLOT_BITS)) >= SLOTS) {
+			level++;
+			slot = node.tick >> (level * SLOT_BITS);
+		}
+		long furthest = (currentTick >> (level * SLOT_BITS)) + SLOTS - 1;
+		Node<K, V> head = wheel[level][(int) (Math.min(slot, furthest) & (SLOTS - 1))];
+		node.prev = head.prev;
+		node.next = head;
+		head.prev.next = node;
+		head.prev = node;
+	}
+
+	/**
+	 * Move the wheel on to a tick, going through, at each level, the slots that
+	 * came due on the way: their entries are dropped if their tick has passed,
+	 * and otherwise filed again in a lower level.
+	 */
+	private void advance(long tick) {
+		long previous = currentTick;
+		if (tick <= previous)
+			return;
+		currentTick = tick;
+		for (int level = 0; level < LEVELS; level++) {
+			long from = previous >> (level * SLOT_BITS);
+			long to = tick >> (level * SLOT_BITS);
+			if (to == from)
+				break;
+			// a whole turn of the wheel comes back to every slot
+			for (long slot = Math.max(from + 1, to - SLOTS + 1); slot <= to; slot++) {
+				Node<K, V> head = wheel[level][(int) (slot & (SLOTS - 1))];
+				Node<K, V> node = head.next;
+				head.prev = head.next = head;
+				while (node != head) {
+					Node<K, V> next = node.next;
+					if (node.tick <= tick)
+						index.remove(node.key);
+					else
+						schedule(node);
+					node = next;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the entry for a key if it hasn't expired, dropping it if it has
+	 * (though its tick hasn't yet come round).
+	 *
+	 * @return The entry, or null if the key isn't in the map
+	 */
+	private Node<K, V> live(K key) {
+		long now = now();
+		Node<K, V> node = index.get(key);
+		if (node != null && node.expiresAt <= now) {
+			unlink(node);
+			index.remove(key);
+			return null;
+		}
+		return node;
+	}
+
+	/**
+	 * Return an iterator over the keys that haven't expired (remove() is
+	 * unsupported, nor is concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		final long now = now();
+		final Iterator<K> keys = index.iterator();
+		return new Iterator<K>() {
+
+			// the next key to return, or null if we haven't found it yet
+			K next = null;
+
+			public boolean hasNext() {
+				while (next == null && keys.hasNext()) {
+					K key = keys.next();
+					if (index.get(key).expiresAt > now)
+						next = key;
+				}
+				return next != null;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				K key = next;
+				next = null;
+				return key;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map, which expires after the map's default
+	 * time-to-live. If the key was already in the map, its expiry is reset.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		put(key, val, defaultTtl, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Add an association to the map that expires after the given time. If the key
+	 * was already in the map, its expiry is reset.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 * @param ttl
+	 *            How long the association lives
+	 * @param unit
+	 *            The unit of ttl
+	 */
+	public void put(K key, V val, long ttl, TimeUnit unit) {
+		if (key == null)
+			return;
+		long now = now();
+		Node<K, V> node = index.get(key);
+		if (node != null)
+			unlink(node);
+		long nanos = unit.toNanos(ttl);
+		if (nanos <= 0) {
+			// dead on arrival
+			index.remove(key);
+			return;
+		}
+		if (node == null) {
+			node = new Node<K, V>(key, val);
+			index.put(key, node);
+		} else
+			node.val = val;
+		node.expiresAt = now + nanos < 0 ? Long.MAX_VALUE : now + nanos;
+		node.tick = node.expiresAt / TICK_NANOS + (node.expiresAt % TICK_NANOS == 0 ? 0 : 1);
+		schedule(node);
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists or it
+	 *         has expired
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Node<K, V> node = live(key);
+		return node == null ? null : node.val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key that hasn't expired.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && live(key) != null;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		now();
+		Node<K, V> node = index.get(key);
+		if (node == null)
+			return;
+		unlink(node);
+		index.remove(key);
+	}
+
+	/**
+	 * Return the number of associations in this map. This may include entries
+	 * that expired within the last tick.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		now();
+		return index.size();
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + index.get(key).val;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
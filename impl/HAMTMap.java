@@ -0,0 +1,595 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * HAMTMap
+ *
+ * Class to implement the Map ADT as a persistent hash array mapped trie, so
+ * that old versions of the map stay valid and unchanged as new ones are made.
+ * The trie branches 32 ways on successive 5-bit pieces of each key's hash, and
+ * each node stores only the branches it has, in an array packed by a bitmap
+ * (the CHAMP layout: the node's own entries first, then its children). An
+ * update copies just the nodes on the path to the key, O(log32 n) of them, and
+ * shares the rest of the trie with the previous version.
+ *
+ * with() and without() return a new version and leave this one alone, and
+ * snapshot() returns a copy in O(1) whose contents never change. A HAMTMap
+ * itself is a mutable handle on the current version: put() and remove() move
+ * it on to a new one, which is what lets it implement the Map ADT. A snapshot
+ * handed to another thread (safely published, as with any object) can be read
+ * there while this thread keeps writing.
+ *
+ * For bulk loading, beginBatch() lets put() and remove() change in place the
+ * nodes that the batch itself has already copied, instead of copying them
+ * again on every update; endBatch() ends it. Taking a snapshot, or calling
+ * with() or without(), during a batch is still safe: the nodes made so far are
+ * then frozen, and later updates copy them again.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class HAMTMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The number of hash bits consumed by each level of the trie.
+	 */
+	private static final int BITS = 5;
+
+	/**
+	 * Returned by find() for a key that is absent (since values may be null).
+	 */
+	private static final Object NOT_FOUND = new Object();
+
+	/**
+	 * Records whether an update added or removed an entry.
+	 */
+	private static final class Change {
+		boolean sizeChanged;
+	}
+
+	/**
+	 * The nodes of the trie. An update returns the node itself if nothing
+	 * changed, or the node that replaces it. A node may be changed in place only
+	 * by the batch whose edit token it carries.
+	 */
+	private static abstract class Node<K, V> {
+		final Object edit;
+
+		Node(Object edit) {
+			this.edit = edit;
+		}
+
+		boolean editable(Object batch) {
+			return batch != null && batch == edit;
+		}
+
+		abstract Object find(K key, int hash, int shift);
+
+		abstract Node<K, V> put(Object batch, K key, V val, int hash, int shift, Change change);
+
+		abstract Node<K, V> remove(Object batch, K key, int hash, int shift, Change change);
+
+		/**
+		 * The number of entries stored directly in this node, and the number of
+		 * children.
+		 */
+		abstract int dataArity();
+
+		abstract int nodeArity();
+
+		abstract K keyAt(int i);
+
+		abstract V valAt(int i);
+
+		abstract Node<K, V> nodeAt(int i);
+	}
+
+	/**
+	 * A node that branches on the hash bits at its level. dataMap has a bit set
+	 * for each branch that is an entry, nodeMap for each that is a child node.
+	 * content holds the entries' keys and values in pairs from the front, in
+	 * bit order, and the children from the back.
+	 */
+	private static final class BitmapNode<K, V> extends Node<K, V> {
+		final int dataMap, nodeMap;
+		final Object[] content;
+
+		BitmapNode(Object edit, int dataMap, int nodeMap, Object[] content) {
+			super(edit);
+			this.dataMap = dataMap;
+			this.nodeMap = nodeMap;
+			this.content = content;
+		}
+
+		private static int bit(int hash, int shift) {
+			return 1 << ((hash >>> shift) & 31);
+		}
+
+		/**
+		 * The position, among the branches in map, of the branch for bit.
+		 */
+		private static int index(int map, int bit) {
+			return Integer.bitCount(map & (bit - 1));
+		}
+
+		int dataArity() {
+			return Integer.bitCount(dataMap);
+		}
+
+		int nodeArity() {
+			return Integer.bitCount(nodeMap);
+		}
+
+		@SuppressWarnings("unchecked")
+		K keyAt(int i) {
+			return (K) content[2 * i];
+		}
+
+		@SuppressWarnings("unchecked")
+		V valAt(int i) {
+			return (V) content[2 * i + 1];
+		}
+
+		@SuppressWarnings("unchecked")
+		Node<K, V> nodeAt(int i) {
+			return (Node<K, V>) content[content.length - 1 - i];
+		}
+
+		Object find(K key, int hash, int shift) {
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = index(dataMap, bit);
+				return key.equals(content[2 * i]) ? content[2 * i + 1] : NOT_FOUND;
+			}
+			if ((nodeMap & bit) != 0)
+				return nodeAt(index(nodeMap, bit)).find(key, hash, shift + BITS);
+			return NOT_FOUND;
+		}
+
+		/**
+		 * This node with one slot of content replaced, in place if the batch owns
+		 * it.
+		 */
+		private BitmapNode<K, V> with(Object batch, int slot, Object value) {
+			if (editable(batch)) {
+				content[slot] = value;
+				return this;
+			}
+			Object[] copy = content.clone();
+			copy[slot] = value;
+			return new BitmapNode<K, V>(batch, dataMap, nodeMap, copy);
+		}
+
+		Node<K, V> put(Object batch, K key, V val, int hash, int shift, Change change) {
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = index(dataMap, bit);
+				K existing = keyAt(i);
+				if (existing.equals(key)) {
+					// key was already in the map, so just replace the value
+					if (content[2 * i + 1] == val)
+						return this;
+					return with(batch, 2 * i + 1, val);
+				}
+				// two keys share this branch, so it becomes a child holding both
+				change.sizeChanged = true;
+				Node<K, V> child = merge(batch, existing, valAt(i), spread(existing), key, val, hash,
+						shift + BITS);
+				Object[] copy = new Object[content.length - 1];
+				int slot = copy.length - 1 - index(nodeMap, bit);
+				System.arraycopy(content, 0, copy, 0, 2 * i);
+				System.arraycopy(content, 2 * i + 2, copy, 2 * i, slot - 2 * i);
+				copy[slot] = child;
+				System.arraycopy(content, slot + 2, copy, slot + 1, content.length - slot - 2);
+				return new BitmapNode<K, V>(batch, dataMap ^ bit, nodeMap | bit, copy);
+			}
+			if ((nodeMap & bit) != 0) {
+				int slot = content.length - 1 - index(nodeMap, bit);
+				@SuppressWarnings("unchecked")
+				Node<K, V> child = (Node<K, V>) content[slot];
+				Node<K, V> updated = child.put(batch, key, val, hash, shift + BITS, change);
+				return updated == child ? this : with(batch, slot, updated);
+			}
+			// a new branch for the entry
+			change.sizeChanged = true;
+			int i = index(dataMap, bit);
+			Object[] copy = new Object[content.length + 2];
+			System.arraycopy(content, 0, copy, 0, 2 * i);
+			copy[2 * i] = key;
+			copy[2 * i + 1] = val;
+			System.arraycopy(content, 2 * i, copy, 2 * i + 2, content.length - 2 * i);
+			return new BitmapNode<K, V>(batch, dataMap | bit, nodeMap, copy);
+		}
+
+		Node<K, V> remove(Object batch, K key, int hash, int shift, Change change) {
+			int bit = bit(hash, shift);
+			if ((dataMap & bit) != 0) {
+				int i = index(dataMap, bit);
+				if (!key.equals(content[2 * i]))
+					return this;
+				change.sizeChanged = true;
+				Object[] copy = new Object[content.length - 2];
+				System.arraycopy(content, 0, copy, 0, 2 * i);
+				System.arraycopy(content, 2 * i + 2, copy, 2 * i, content.length - 2 * i - 2);
+				return new BitmapNode<K, V>(batch, dataMap ^ bit, nodeMap, copy);
+			}
+			if ((nodeMap & bit) != 0) {
+				int slot = content.length - 1 - index(nodeMap, bit);
+				@SuppressWarnings("unchecked")
+				Node<K, V> child = (Node<K, V>) content[slot];
+				Node<K, V> updated = child.remove(batch, key, hash, shift + BITS, change);
+				if (updated == child)
+					return this;
+				if (updated.nodeArity() > 0 || updated.dataArity() > 1)
+					return with(batch, slot, updated);
+				// the child is down to one entry: if it is all this node has, pass
+				// it up to be inlined higher; otherwise (or at the root) inline it
+				// here
+				if (shift > 0 && dataMap == 0 && Integer.bitCount(nodeMap) == 1)
+					return updated;
+				int i = index(dataMap, bit);
+				Object[] copy = new Object[content.length + 1];
+				System.arraycopy(content, 0, copy, 0, 2 * i);
+				copy[2 * i] = updated.keyAt(0);
+				copy[2 * i + 1] = updated.valAt(0);
+				System.arraycopy(content, 2 * i, copy, 2 * i + 2, slot - 2 * i);
+				System.arraycopy(content, slot + 1, copy, slot + 2, content.length - slot - 1);
+				return new BitmapNode<K, V>(batch, dataMap | bit, nodeMap ^ bit, copy);
+			}
+			return this;
+		}
+	}
+
+	/**
+	 * A node for keys whose hashes are identical, once every bit has been used.
+	 */
+	private static final class CollisionNode<K, V> extends Node<K, V> {
+		final int hash;
+		final Object[] content;
+
+		CollisionNode(Object edit, int hash, Object[] content) {
+			super(edit);
+			this.hash = hash;
+			this.content = content;
+		}
+
+		int dataArity() {
+			return content.length / 2;
+		}
+
+		int nodeArity() {
+			return 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		K keyAt(int i) {
+			return (K) content[2 * i];
+		}
+
+		@SuppressWarnings("unchecked")
+		V valAt(int i) {
+			return (V) content[2 * i + 1];
+		}
+
+		Node<K, V> nodeAt(int i) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		private int indexOf(K key) {
+			for (int i = 0; i < content.length; i += 2)
+				if (key.equals(content[i]))
+					return i;
+			return -1;
+		}
+
+		Object find(K key, int hash, int shift) {
+			int i = indexOf(key);
+			return i < 0 ? NOT_FOUND : content[i + 1];
+		}
+
+		Node<K, V> put(Object batch, K key, V val, int hash, int shift, Change change) {
+			int i = indexOf(key);
+			if (i >= 0) {
+				if (content[i + 1] == val)
+					return this;
+				if (editable(batch)) {
+					content[i + 1] = val;
+					return this;
+				}
+				Object[] copy = content.clone();
+				copy[i + 1] = val;
+				return new CollisionNode<K, V>(batch, hash, copy);
+			}
+			change.sizeChanged = true;
+			Object[] copy = new Object[content.length + 2];
+			System.arraycopy(content, 0, copy, 0, content.length);
+			copy[content.length] = key;
+			copy[content.length + 1] = val;
+			return new CollisionNode<K, V>(batch, hash, copy);
+		}
+
+		Node<K, V> remove(Object batch, K key, int hash, int shift, Change change) {
+			int i = indexOf(key);
+			if (i < 0)
+				return this;
+			change.sizeChanged = true;
+			Object[] copy = new Object[content.length - 2];
+			System.arraycopy(content, 0, copy, 0, i);
+			System.arraycopy(content, i + 2, copy, i, content.length - i - 2);
+			return new CollisionNode<K, V>(batch, hash, copy);
+		}
+	}
+
+	/**
+	 * Make a node holding two entries whose hashes agree below the given shift.
+	 */
+	private static <K, V> Node<K, V> merge(Object batch, K key1, V val1, int hash1, K key2, V val2,
+			int hash2, int shift) {
+		if (shift >= 32)
+			return new CollisionNode<K, V>(batch, hash1, new Object[] { key1, val1, key2, val2 });
+		int branch1 = (hash1 >>> shift) & 31;
+		int branch2 = (hash2 >>> shift) & 31;
+		if (branch1 == branch2) {
+			Node<K, V> child = merge(batch, key1, val1, hash1, key2, val2, hash2, shift + BITS);
+			return new BitmapNode<K, V>(batch, 0, 1 << branch1, new Object[] { child });
+		}
+		Object[] content = branch1 < branch2 ? new Object[] { key1, val1, key2, val2 }
+				: new Object[] { key2, val2, key1, val1 };
+		return new BitmapNode<K, V>(batch, (1 << branch1) | (1 << branch2), 0, content);
+	}
+
+	/**
+	 * Scramble a key's hash code, so that every 5-bit piece of it depends on all
+	 * of it.
+	 */
+	private static int spread(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * The root of the current version (never null; an empty map has an empty
+	 * node).
+	 */
+	private Node<K, V> root;
+
+	/**
+	 * The number of associations in the current version.
+	 */
+	private int size;
+
+	/**
+	 * The token of the batch in progress, or null if there is none.
+	 */
+	private Object batch = null;
+
+	/**
+	 * Scratch space for updates.
+	 */
+	private final Change change = new Change();
+
+	/**
+	 * Plain constructor, for an empty map.
+	 */
+	public HAMTMap() {
+		this(new BitmapNode<K, V>(null, 0, 0, new Object[0]), 0);
+	}
+
+	private HAMTMap(Node<K, V> root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Freeze the nodes made by the batch in progress, if any, since they are
+	 * about to be shared; the batch carries on under a new token.
+	 */
+	private void share() {
+		if (batch != null)
+			batch = new Object();
+	}
+
+	/**
+	 * A copy of this map as it is now, which later changes to this map don't
+	 * affect. This takes O(1) time, since the two share the trie.
+	 *
+	 * @return The snapshot
+	 */
+	public HAMTMap<K, V> snapshot() {
+		share();
+		return new HAMTMap<K, V>(root, size);
+	}
+
+	/**
+	 * A new version of this map with an association added (or replaced), leaving
+	 * this one unchanged.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 * @return The new version
+	 */
+	public HAMTMap<K, V> with(K key, V val) {
+		HAMTMap<K, V> result = snapshot();
+		result.put(key, val);
+		return result;
+	}
+
+	/**
+	 * A new version of this map without the association for a key, leaving this
+	 * one unchanged.
+	 *
+	 * @param key
+	 *            The key to remove
+	 * @return The new version
+	 */
+	public HAMTMap<K, V> without(K key) {
+		HAMTMap<K, V> result = snapshot();
+		result.remove(key);
+		return result;
+	}
+
+	/**
+	 * Start a batch of updates, during which put() and remove() change in place
+	 * the nodes the batch has already copied. Does nothing if a batch is already
+	 * in progress.
+	 */
+	public void beginBatch() {
+		if (batch == null)
+			batch = new Object();
+	}
+
+	/**
+	 * End the batch of updates in progress, so that put() and remove() copy every
+	 * node they change again.
+	 */
+	public void endBatch() {
+		batch = null;
+	}
+
+	/**
+	 * Return an iterator over the keys of the current version (remove() is
+	 * unsupported). The iterator carries on over that version even if this map is
+	 * changed meanwhile, as it holds a snapshot.
+	 */
+	public Iterator<K> iterator() {
+		share();
+		final Node<K, V> start = root;
+		return new Iterator<K>() {
+
+			// the nodes on the path to the current one, with the next entry and
+			// the next child to visit in each; 32 bits at 5 a level, plus a level
+			// of collisions
+			@SuppressWarnings("unchecked")
+			Node<K, V>[] nodes = (Node<K, V>[]) new Node[9];
+			int[] entries = new int[9];
+			int[] children = new int[9];
+			int depth = 0;
+
+			{
+				nodes[0] = start;
+			}
+
+			public boolean hasNext() {
+				while (depth >= 0) {
+					Node<K, V> node = nodes[depth];
+					if (entries[depth] < node.dataArity())
+						return true;
+					if (children[depth] < node.nodeArity()) {
+						Node<K, V> child = node.nodeAt(children[depth]++);
+						depth++;
+						nodes[depth] = child;
+						entries[depth] = children[depth] = 0;
+					} else
+						depth--;
+				}
+				return false;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return nodes[depth].keyAt(entries[depth]++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		change.sizeChanged = false;
+		root = root.put(batch, key, val, spread(key), 0, change);
+		if (change.sizeChanged)
+			size++;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Object val = root.find(key, spread(key), 0);
+		return val == NOT_FOUND ? null : (V) val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && root.find(key, spread(key), 0) != NOT_FOUND;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		change.sizeChanged = false;
+		Node<K, V> updated = root.remove(batch, key, spread(key), 0, change);
+		if (!change.sizeChanged)
+			return;
+		size--;
+		root = updated;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
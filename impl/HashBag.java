@@ -0,0 +1,172 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Bag;
+
+/**
+ * HashBag
+ *
+ * An implementation of Bag that keeps a HashMap from each distinct item to the
+ * number of times it is in the bag, along with a running total of all the
+ * counts. add(), count() and remove() are each a single expected O(1) map
+ * operation and size() is O(1), where ListBag scans (and shifts) the whole list.
+ *
+ * Recall that our Bag interface differs from what Sedgewick calls a "bag" (but
+ * he's wrong).
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <E>
+ *            The base-type of the bag
+ */
+public class HashBag<E> implements Bag<E> {
+
+	/**
+	 * A mutable count, so that adding another copy of an item updates the count
+	 * in place instead of putting a new Integer into the map.
+	 */
+	private static class Counter {
+		int count = 1;
+	}
+
+	/**
+	 * The internal representation, from each distinct item to its count.
+	 */
+	private HashMap<E, Counter> internal;
+
+	/**
+	 * The sum of the counts.
+	 */
+	private int size = 0;
+
+	public HashBag() {
+		internal = new HashMap<E, Counter>();
+	}
+
+	/**
+	 * Constructor that is given the number of distinct items we expect to store,
+	 * so that the map never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of distinct items
+	 */
+	public HashBag(int capacity) {
+		internal = new HashMap<E, Counter>(capacity);
+	}
+
+	/**
+	 * Return an iterator over this collection, which returns each item as many
+	 * times as it's in the bag (remove() is unsupported, nor is concurrent
+	 * modification checked).
+	 */
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			// the distinct items
+			Iterator<E> keys = internal.iterator();
+
+			// the item being repeated and how many more times to return it
+			E current;
+			int remaining = 0;
+
+			public boolean hasNext() {
+				return remaining > 0 || keys.hasNext();
+			}
+
+			public E next() {
+				if (remaining == 0) {
+					if (!keys.hasNext())
+						throw new NoSuchElementException();
+					current = keys.next();
+					remaining = internal.get(current).count;
+				}
+				remaining--;
+				return current;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an item to the bag, increasing its count if it's already there.
+	 *
+	 * @param item
+	 *            The item to add
+	 */
+	public void add(E item) {
+		if (item == null)
+			return;
+
+		Counter counter = internal.get(item);
+		if (counter == null)
+			internal.put(item, new Counter());
+		else
+			counter.count++;
+		size++;
+	}
+
+	/**
+	 * How many times does this bag contain this item?
+	 *
+	 * @param item
+	 *            The item to check
+	 * @return The number of occurrences of this item in the bag
+	 */
+	public int count(E item) {
+		Counter counter = internal.get(item);
+		return counter == null ? 0 : counter.count;
+	}
+
+	/**
+	 * Remove (all occurrences of) an item from the bag, if it's there (ignore
+	 * otherwise).
+	 *
+	 * @param item
+	 *            The item to remove
+	 */
+	public void remove(E item) {
+		Counter counter = internal.get(item);
+		if (counter == null)
+			return;
+		internal.remove(item);
+		size -= counter.count;
+	}
+
+	/**
+	 * The number of items in the bag. This is the sum of the counts, not the number
+	 * of unique items.
+	 *
+	 * @return The number of items.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Is the bag empty?
+	 *
+	 * @return True if the bag is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (E item : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += item;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
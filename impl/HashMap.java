@@ -0,0 +1,306 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * HashMap
+ *
+ * Class to implement the Map ADT using open addressing. Keys and values live in
+ * two parallel arrays whose length is always a power of two, and collisions are
+ * resolved by linear probing. When the number of associations passes the load
+ * factor the table doubles. Removal shifts later entries of the probe run back
+ * into the hole (rather than leaving a tombstone), so a table that sees many
+ * puts and removes never slows down.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class HashMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The default number of slots in a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The most slots a table can have, the largest power of two an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 30;
+
+	/**
+	 * The default fraction of slots that may be used before the table grows.
+	 */
+	private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+	/**
+	 * The keys of the map; a null slot is empty.
+	 */
+	private K[] keys;
+
+	/**
+	 * The values of the map, parallel to keys.
+	 */
+	private V[] vals;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of associations at which the table is doubled.
+	 */
+	private int threshold;
+
+	/**
+	 * The fraction of slots that may be used before the table grows.
+	 */
+	private final double loadFactor;
+
+	/**
+	 * Plain constructor.
+	 */
+	public HashMap() {
+		this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public HashMap(int capacity) {
+		this(capacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Constructor that is given the expected number of associations and the
+	 * fraction of the table that may fill before it is doubled.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 * @param loadFactor
+	 *            The maximum fraction of used slots, strictly between 0 and 1
+	 */
+	public HashMap(int capacity, double loadFactor) {
+		if (capacity < 0 || !(loadFactor > 0 && loadFactor < 1))
+			throw new IllegalArgumentException();
+		this.loadFactor = loadFactor;
+		int length = DEFAULT_CAPACITY;
+		while (length * loadFactor < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		allocate(length);
+	}
+
+	/**
+	 * Replace the internal arrays with empty ones of the given length.
+	 *
+	 * @param length
+	 *            The new number of slots, a power of two
+	 */
+	@SuppressWarnings("unchecked")
+	private void allocate(int length) {
+		keys = (K[]) new Object[length];
+		vals = (V[]) new Object[length];
+		threshold = (int) (length * loadFactor);
+	}
+
+	/**
+	 * Find the slot at which a key's probe sequence starts.
+	 *
+	 * @param key
+	 *            The key to hash
+	 * @return Its home slot in the current table
+	 */
+	private int home(Object key) {
+		// mix the high bits into the low ones, since we only keep the low ones
+		int h = key.hashCode() * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Find the slot that holds a key.
+	 *
+	 * @param key
+	 *            The key to look for
+	 * @return The slot holding the key, or -1 if it isn't in the map
+	 */
+	private int indexOf(K key) {
+		int mask = keys.length - 1;
+		for (int i = home(key);; i = (i + 1) & mask) {
+			if (keys[i] == null)
+				return -1;
+			if (keys[i].equals(key))
+				return i;
+		}
+	}
+
+	/**
+	 * Cause the table to double in size, rehashing every association.
+	 */
+	private void grow() {
+		K[] oldKeys = keys;
+		V[] oldVals = vals;
+		allocate(keys.length * 2);
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] == null)
+				continue;
+			// no key can be found twice, so there is no need for equals()
+			int i = home(oldKeys[j]);
+			while (keys[i] != null)
+				i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			vals[i] = oldVals[j];
+		}
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the next slot to look at
+			int current = 0;
+
+			public boolean hasNext() {
+				while (current < keys.length && keys[current] == null)
+					current++;
+				return current < keys.length;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return keys[current++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+
+		int mask = keys.length - 1;
+		int i;
+		for (i = home(key); keys[i] != null; i = (i + 1) & mask) {
+			if (keys[i].equals(key)) {
+				// key was already in the map, so just replace the value
+				vals[i] = val;
+				return;
+			}
+		}
+
+		keys[i] = key;
+		vals[i] = val;
+		size++;
+		if (size > threshold)
+			grow();
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		int i = indexOf(key);
+		return i < 0 ? null : vals[i];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && indexOf(key) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int hole = indexOf(key);
+		if (hole < 0)
+			return;
+
+		// walk the rest of the probe run, pulling back every key whose home
+		// slot does not lie (cyclically) between the hole and where it sits
+		int mask = keys.length - 1;
+		for (int j = (hole + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			int h = home(keys[j]);
+			if (((j - h) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				vals[hole] = vals[j];
+				hole = j;
+			}
+		}
+		keys[hole] = null;
+		vals[hole] = null;
+		size--;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -0,0 +1,240 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Set;
+
+/**
+ * HashSet
+ *
+ * Class to implement the Set ADT directly with open addressing, rather than on
+ * top of a Map with dummy values. The items live in one array whose length is a
+ * power of two, collisions are resolved by linear probing, the table doubles
+ * when it passes three-quarters full, and removal shifts later items of the
+ * probe run back into the hole so no tombstones are left. add(), contains() and
+ * remove() are expected O(1), and size() and isEmpty() read a counter.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <E>
+ *            The base-type of the set
+ */
+public class HashSet<E> implements Set<E> {
+
+	/**
+	 * The default number of slots in a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The most slots a table can have, the largest power of two an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 30;
+
+	/**
+	 * The items of the set; a null slot is empty.
+	 */
+	private E[] internal;
+
+	/**
+	 * The number of items in the set.
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of items at which the table is doubled.
+	 */
+	private int threshold;
+
+	public HashSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of items we expect to store, so that a
+	 * set built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of items
+	 */
+	public HashSet(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int length = DEFAULT_CAPACITY;
+		while (length / 4 * 3 < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		allocate(length);
+	}
+
+	/**
+	 * Replace the internal array with an empty one of the given length.
+	 */
+	@SuppressWarnings("unchecked")
+	private void allocate(int length) {
+		internal = (E[]) new Object[length];
+		threshold = length / 4 * 3;
+	}
+
+	/**
+	 * Find the slot at which an item's probe sequence starts.
+	 */
+	private int home(Object item) {
+		int h = item.hashCode() * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (internal.length - 1);
+	}
+
+	/**
+	 * Find the slot that holds an item.
+	 *
+	 * @return The slot holding the item, or -1 if it isn't in the set
+	 */
+	private int indexOf(E item) {
+		int mask = internal.length - 1;
+		for (int i = home(item);; i = (i + 1) & mask) {
+			if (internal[i] == null)
+				return -1;
+			if (internal[i].equals(item))
+				return i;
+		}
+	}
+
+	/**
+	 * Cause the table to double in size, rehashing every item.
+	 */
+	private void grow() {
+		E[] old = internal;
+		allocate(internal.length * 2);
+		int mask = internal.length - 1;
+		for (E item : old) {
+			if (item == null)
+				continue;
+			int i = home(item);
+			while (internal[i] != null)
+				i = (i + 1) & mask;
+			internal[i] = item;
+		}
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			// the next slot to look at
+			int current = 0;
+
+			public boolean hasNext() {
+				while (current < internal.length && internal[current] == null)
+					current++;
+				return current < internal.length;
+			}
+
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return internal[current++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an item to the set. (Do nothing if the item is already there.)
+	 *
+	 * @param item
+	 *            The item to add
+	 */
+	public void add(E item) {
+		if (item == null)
+			return;
+
+		int mask = internal.length - 1;
+		int i;
+		for (i = home(item); internal[i] != null; i = (i + 1) & mask)
+			if (internal[i].equals(item))
+				return;
+
+		internal[i] = item;
+		size++;
+		if (size > threshold)
+			grow();
+	}
+
+	/**
+	 * Does this set contain the item?
+	 *
+	 * @param item
+	 *            The item to check
+	 * @return True if the item is in the set, false otherwise
+	 */
+	public boolean contains(E item) {
+		return item != null && indexOf(item) >= 0;
+	}
+
+	/**
+	 * Remove an item from the set, if it's there (ignore otherwise).
+	 *
+	 * @param item
+	 *            The item to remove
+	 */
+	public void remove(E item) {
+		if (item == null)
+			return;
+		int hole = indexOf(item);
+		if (hole < 0)
+			return;
+
+		// pull back every later item of the run that may legally sit in the hole
+		int mask = internal.length - 1;
+		for (int j = (hole + 1) & mask; internal[j] != null; j = (j + 1) & mask) {
+			int h = home(internal[j]);
+			if (((j - h) & mask) >= ((j - hole) & mask)) {
+				internal[hole] = internal[j];
+				hole = j;
+			}
+		}
+		internal[hole] = null;
+		size--;
+	}
+
+	/**
+	 * The number of items in the set
+	 *
+	 * @return The number of items.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Is the set empty?
+	 *
+	 * @return True if the set is empty, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (E item : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += item;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -0,0 +1,267 @@
+package impl;
+
+/**
+ * IntObjectMap
+ *
+ * A map from primitive ints to objects, for clients (such as MapList) whose
+ * keys are ints and who would otherwise pay for boxing every key into an
+ * Integer. Keys and values live in parallel arrays (an int[] and an Object[])
+ * whose length is a power of two, collisions are resolved by linear probing
+ * and removal shifts later entries of the probe run back into the hole, so no
+ * objects are allocated except when the table grows.
+ *
+ * A key of 0 marks an empty slot, so the association for 0 itself (if any) is
+ * kept off to the side in its own fields.
+ *
+ * This is not an implementation of the Map ADT, since Map's keys are objects;
+ * as with Map, get() returns null and remove() does nothing for keys that are
+ * not in the map.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <E>
+ *            The value-type of the map
+ */
+public class IntObjectMap<E> {
+
+	/**
+	 * The key that marks an empty slot.
+	 */
+	private static final int FREE = 0;
+
+	/**
+	 * The default number of slots in a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The most slots a table can have, the largest power of two an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 30;
+
+	/**
+	 * The keys of the map (other than 0).
+	 */
+	private int[] keys;
+
+	/**
+	 * The values of the map, parallel to keys.
+	 */
+	private E[] vals;
+
+	/**
+	 * Whether 0 is a key of the map, and if so its value.
+	 */
+	private boolean hasFreeKey = false;
+	private E freeVal;
+
+	/**
+	 * The number of associations in the map (including one for 0).
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of slots in use at which the table is doubled.
+	 */
+	private int threshold;
+
+	/**
+	 * Plain constructor.
+	 */
+	public IntObjectMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public IntObjectMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int length = DEFAULT_CAPACITY;
+		while (length / 2 < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		allocate(length);
+	}
+
+	/**
+	 * Replace the internal arrays with empty ones of the given length. The table
+	 * is kept at most half full.
+	 */
+	@SuppressWarnings("unchecked")
+	private void allocate(int length) {
+		keys = new int[length];
+		vals = (E[]) new Object[length];
+		threshold = length / 2;
+	}
+
+	/**
+	 * Find the slot at which a key's probe sequence starts.
+	 */
+	private int home(int key) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Find the slot that holds a (nonzero) key.
+	 *
+	 * @return The slot holding the key, or -1 if it isn't in the map
+	 */
+	private int indexOf(int key) {
+		int mask = keys.length - 1;
+		for (int i = home(key);; i = (i + 1) & mask) {
+			if (keys[i] == key)
+				return i;
+			if (keys[i] == FREE)
+				return -1;
+		}
+	}
+
+	/**
+	 * Cause the table to double in size, rehashing every association.
+	 */
+	private void grow() {
+		int[] oldKeys = keys;
+		E[] oldVals = vals;
+		allocate(keys.length * 2);
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] == FREE)
+				continue;
+			int i = home(oldKeys[j]);
+			while (keys[i] != FREE)
+				i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			vals[i] = oldVals[j];
+		}
+	}
+
+	/**
+	 * Add an association to the map, replacing any value already there.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(int key, E val) {
+		if (key == FREE) {
+			if (!hasFreeKey)
+				size++;
+			hasFreeKey = true;
+			freeVal = val;
+			return;
+		}
+
+		int mask = keys.length - 1;
+		int i;
+		for (i = home(key); keys[i] != FREE; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				vals[i] = val;
+				return;
+			}
+		}
+		keys[i] = key;
+		vals[i] = val;
+		size++;
+		if (size > threshold)
+			grow();
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public E get(int key) {
+		if (key == FREE)
+			return freeVal;
+		int i = indexOf(key);
+		return i < 0 ? null : vals[i];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(int key) {
+		if (key == FREE)
+			return hasFreeKey;
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(int key) {
+		if (key == FREE) {
+			if (hasFreeKey)
+				size--;
+			hasFreeKey = false;
+			freeVal = null;
+			return;
+		}
+		int hole = indexOf(key);
+		if (hole < 0)
+			return;
+
+		// pull back every later key of the run that may legally sit in the hole
+		int mask = keys.length - 1;
+		for (int j = (hole + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+			int h = home(keys[j]);
+			if (((j - h) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				vals[hole] = vals[j];
+				hole = j;
+			}
+		}
+		keys[hole] = FREE;
+		vals[hole] = null;
+		size--;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		if (hasFreeKey) {
+			toReturn += FREE + "=" + freeVal;
+			prefix = true;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == FREE)
+				continue;
+			if (prefix)
+				toReturn += ", ";
+			toReturn += keys[i] + "=" + vals[i];
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
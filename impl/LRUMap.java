@@ -0,0 +1,328 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * LRUMap
+ *
+ * Class to implement the Map ADT as a cache of bounded size. The entries are
+ * kept on a doubly linked list in order of use, and a HashMap from each key to
+ * its list node finds them in O(1). get() and put() move the entry they touch
+ * to the front of the list, and when put() adds a key to a map that is already
+ * at its capacity, the entry at the back, the least recently used, is evicted
+ * to make room. An EvictionListener, if one is given, hears about every
+ * eviction.
+ *
+ * The map counts its hits (get() calls that found the key), misses (get()
+ * calls that didn't) and evictions, so its capacity can be tuned from real
+ * traffic. containsKey() doesn't count as a use: it neither moves the entry
+ * nor touches the counts.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class LRUMap<K, V> implements Map<K, V> {
+
+	/**
+	 * Callback for entries that an LRUMap evicts (but not for ones that are
+	 * removed or replaced).
+	 *
+	 * @param <K>
+	 *            The key-type of the map
+	 * @param <V>
+	 *            The value-type of the map
+	 */
+	public interface EvictionListener<K, V> {
+		/**
+		 * Called after an entry has been evicted.
+		 *
+		 * @param key
+		 *            The evicted key
+		 * @param val
+		 *            The value it was associated with
+		 */
+		void evicted(K key, V val);
+	}
+
+	/**
+	 * Class for the nodes of the recency list.
+	 */
+	private static class Node<K, V> {
+		K key;
+		V val;
+		Node<K, V> prev, next;
+
+		Node(K key, V val) {
+			this.key = key;
+			this.val = val;
+		}
+	}
+
+	/**
+	 * The index from each key to its node.
+	 */
+	private final HashMap<K, Node<K, V>> index;
+
+	/**
+	 * The sentinel of the circular recency list; head.next is the most recently
+	 * used entry and head.prev the least.
+	 */
+	private final Node<K, V> head;
+
+	/**
+	 * The most entries the map holds.
+	 */
+	private final int capacity;
+
+	/**
+	 * Who to tell about evictions, or null.
+	 */
+	private final EvictionListener<K, V> listener;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Constructor that is given the most entries to hold.
+	 *
+	 * @param capacity
+	 *            The maximum number of associations
+	 */
+	public LRUMap(int capacity) {
+		this(capacity, null);
+	}
+
+	/**
+	 * Constructor that is given the most entries to hold and a listener for
+	 * evictions.
+	 *
+	 * @param capacity
+	 *            The maximum number of associations
+	 * @param listener
+	 *            Who to tell about each evicted entry (or null)
+	 */
+	public LRUMap(int capacity, EvictionListener<K, V> listener) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException();
+		this.capacity = capacity;
+		this.listener = listener;
+		index = new HashMap<K, Node<K, V>>();
+		head = new Node<K, V>(null, null);
+		head.prev = head.next = head;
+	}
+
+	private void unlink(Node<K, V> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+	}
+
+	private void linkFirst(Node<K, V> node) {
+		node.prev = head;
+		node.next = head.next;
+		head.next.prev = node;
+		head.next = node;
+	}
+
+	/**
+	 * Return an iterator over the keys from the most to the least recently used
+	 * (remove() is unsupported, nor is concurrent modification checked).
+	 * Iterating doesn't count as using the entries.
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the node whose key is next
+			Node<K, V> current = head.next;
+
+			public boolean hasNext() {
+				return current != head;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				K key = current.key;
+				current = current.next;
+				return key;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map, making it the most recently used, and
+	 * evict the least recently used entry if the map was already full.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		Node<K, V> node = index.get(key);
+		if (node != null) {
+			// key was already in the map, so just replace the value
+			node.val = val;
+			unlink(node);
+			linkFirst(node);
+			return;
+		}
+		if (index.size() == capacity) {
+			Node<K, V> eldest = head.prev;
+			unlink(eldest);
+			index.remove(eldest.key);
+			evictions++;
+			if (listener != null)
+				listener.evicted(eldest.key, eldest.val);
+		}
+		node = new Node<K, V>(key, val);
+		linkFirst(node);
+		index.put(key, node);
+	}
+
+	/**
+	 * Get the value for a key, making it the most recently used.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Node<K, V> node = index.get(key);
+		if (node == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		if (head.next != node) {
+			unlink(node);
+			linkFirst(node);
+		}
+		return node.val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key. This doesn't count
+	 * as a use of the entry.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && index.containsKey(key);
+	}
+
+	/**
+	 * Remove the association for this key, if it exists. This is not an
+	 * eviction, so the listener isn't told.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		Node<K, V> node = index.get(key);
+		if (node == null)
+			return;
+		unlink(node);
+		index.remove(key);
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return index.size();
+	}
+
+	/**
+	 * The most associations this map will hold.
+	 *
+	 * @return The capacity
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * The number of get() calls that found their key.
+	 *
+	 * @return The hit count
+	 */
+	public long hitCount() {
+		return hits;
+	}
+
+	/**
+	 * The number of get() calls that didn't find their key.
+	 *
+	 * @return The miss count
+	 */
+	public long missCount() {
+		return misses;
+	}
+
+	/**
+	 * The number of entries evicted to make room for new ones.
+	 *
+	 * @return The eviction count
+	 */
+	public long evictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * The fraction of get() calls that found their key (0 if there have been
+	 * none).
+	 *
+	 * @return The hit ratio
+	 */
+	public double hitRatio() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	/**
+	 * Set the hit, miss and eviction counts back to zero, for instance at the
+	 * start of each reporting period.
+	 */
+	public void resetCounts() {
+		hits = misses = evictions = 0;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (Node<K, V> node = head.next; node != head; node = node.next) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += node.key + "=" + node.val;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -29,6 +29,18 @@ public class ListBag<E> implements Bag<E> {
 		internal = new MapList<E>();
 	}
 
+	/**
+	 * Constructor that is given the internal representation, so that any
+	 * implementation of List (for example ArrayList) can back this bag. The list
+	 * should be empty.
+	 * 
+	 * @param internal
+	 *            The list in which to store the items
+	 */
+	public ListBag(List<E> internal) {
+		this.internal = internal;
+	}
+
 	/**
 	 * Return an iterator over this collection (remove() is unsupported, nor is
 	 * concurrent modification checked).
@@ -24,6 +24,16 @@ public class ListQueue<E> implements Queue<E> {
     public ListQueue() {
         this.internal = new MapList<E>();
     }
+
+    /**
+     * Constructor that is given the internal representation, so that
+     * any implementation of List (for example ArrayList) can back this
+     * queue. The list should be empty.
+     * @param internal The list in which to store the items
+     */
+    public ListQueue(List<E> internal) {
+        this.internal = internal;
+    }
     
     /**
      * Add (enqueue) an item to the back of the queue.
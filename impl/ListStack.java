@@ -25,6 +25,16 @@ public class ListStack<E> implements Stack<E> {
     public ListStack() {
         this.internal = new MapList<E>();
     }
+
+    /**
+     * Constructor that is given the internal representation, so that
+     * any implementation of List (for example ArrayList) can back this
+     * stack. The list should be empty.
+     * @param internal The list in which to store the items
+     */
+    public ListStack(List<E> internal) {
+        this.internal = internal;
+    }
     
     /**
      * Add (push) an item to the top of the stack.
@@ -0,0 +1,445 @@
+package impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import adt.Map;
+
+/**
+ * LockFreeHashMap
+ *
+ * A thread-safe implementation of the Map ADT that never locks. The table is
+ * an AtomicReferenceArray of bins, each holding an immutable chain of nodes,
+ * and put() and remove() build the bin's new chain and install it with a
+ * compare-and-set, retrying if another thread changed the bin first. A reader
+ * just follows whatever chain is in the bin, so it never waits for a writer.
+ *
+ * When the table passes three-quarters full it is doubled, but no one thread
+ * copies it. The old table's bins are handed out in chunks, and every writer
+ * that finds a resize in progress claims chunks and migrates them until none
+ * are left. A bin is migrated by copying its chain into the new table and then
+ * swapping in a forwarding node, so any thread that meets one (readers
+ * included) simply looks in the new table instead; nobody ever waits for the
+ * resize to finish. Only once the last chunk is done does the new table become
+ * the current one, and a table is only ever resized while it is current, so at
+ * most one resize is under way at a time.
+ *
+ * size() reads a shared counter, and the iterator visits the bins one at a
+ * time, so both reflect some recent state of the map rather than an atomic
+ * snapshot of it while other threads are writing.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class LockFreeHashMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The number of bins in a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The most slots a table can have, the largest power of two an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 30;
+
+	/**
+	 * The number of bins a thread claims at a time when helping with a resize.
+	 */
+	private static final int STRIDE = 16;
+
+	/**
+	 * Class for the nodes of a bin's chain. Nodes are never changed once they are
+	 * in a table.
+	 */
+	private static class Node<K, V> {
+		final int hash;
+		final K key;
+		final V val;
+		final Node<K, V> next;
+
+		Node(int hash, K key, V val, Node<K, V> next) {
+			this.hash = hash;
+			this.key = key;
+			this.val = val;
+			this.next = next;
+		}
+	}
+
+	/**
+	 * The node left in a bin that has been migrated to the next table.
+	 */
+	private static final class Forward<K, V> extends Node<K, V> {
+		final Table<K, V> to;
+
+		Forward(Table<K, V> to) {
+			super(0, null, null, null);
+			this.to = to;
+		}
+	}
+
+	/**
+	 * A table of bins, with the state of its resize (if one has started).
+	 */
+	private static final class Table<K, V> {
+		final AtomicReferenceArray<Node<K, V>> bins;
+
+		// the table this one is being migrated to, null until a resize starts
+		final AtomicReference<Table<K, V>> next = new AtomicReference<Table<K, V>>();
+
+		// the bins below this index are still to be claimed
+		final AtomicInteger transferIndex;
+
+		// the number of bins migrated so far
+		final AtomicInteger migrated = new AtomicInteger();
+
+		Table(int length) {
+			bins = new AtomicReferenceArray<Node<K, V>>(length);
+			transferIndex = new AtomicInteger(length);
+		}
+	}
+
+	/**
+	 * The current table.
+	 */
+	private final AtomicReference<Table<K, V>> root;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Plain constructor.
+	 */
+	public LockFreeHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public LockFreeHashMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int length = DEFAULT_CAPACITY;
+		while (length / 4 * 3 < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		root = new AtomicReference<Table<K, V>>(new Table<K, V>(length));
+	}
+
+	/**
+	 * Scramble a key's hash code, so that the low bits (which pick the bin)
+	 * depend on all of it.
+	 */
+	private static int spread(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static int indexFor(int hash, Table<?, ?> t) {
+		return hash & (t.bins.length() - 1);
+	}
+
+	/**
+	 * Find the node for a key in a chain.
+	 *
+	 * @return The node, or null if the key isn't in the chain
+	 */
+	private static <K, V> Node<K, V> find(Node<K, V> chain, K key, int hash) {
+		for (Node<K, V> node = chain; node != null; node = node.next)
+			if (node.hash == hash && node.key.equals(key))
+				return node;
+		return null;
+	}
+
+	/**
+	 * Copy a chain up to (but not including) a node in it, linking the copy to
+	 * the given tail instead. This loops rather than recursing, since keys that
+	 * share a hash code make a chain that no resize can shorten.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <K, V> Node<K, V> copyBefore(Node<K, V> chain, Node<K, V> stop, Node<K, V> tail) {
+		int count = 0;
+		for (Node<K, V> node = chain; node != stop; node = node.next)
+			count++;
+		Node<K, V>[] prefix = (Node<K, V>[]) new Node[count];
+		Node<K, V> node = chain;
+		for (int j = 0; j < count; j++, node = node.next)
+			prefix[j] = node;
+		// build the copy from the back, so each node can be linked as it is made
+		for (int j = count - 1; j >= 0; j--)
+			tail = new Node<K, V>(prefix[j].hash, prefix[j].key, prefix[j].val, tail);
+		return tail;
+	}
+
+	/**
+	 * Start doubling a table, if it is still the current one and no resize of it
+	 * has begun, and then help with the migration.
+	 */
+	private void resize(Table<K, V> t) {
+		if (root.get() == t && t.next.get() == null)
+			t.next.compareAndSet(null, new Table<K, V>(t.bins.length() * 2));
+		help(t);
+	}
+
+	/**
+	 * Claim and migrate chunks of a table being resized until none are left to
+	 * claim. Whoever finishes the last chunk makes the new table current.
+	 */
+	private void help(Table<K, V> t) {
+		Table<K, V> nt = t.next.get();
+		if (nt == null)
+			return;
+		int n = t.bins.length();
+		while (true) {
+			int hi = t.transferIndex.get();
+			if (hi <= 0)
+				return;
+			int lo = Math.max(0, hi - STRIDE);
+			if (!t.transferIndex.compareAndSet(hi, lo))
+				continue;
+			Forward<K, V> forward = new Forward<K, V>(nt);
+			for (int i = lo; i < hi; i++)
+				migrate(t, nt, i, forward);
+			if (t.migrated.addAndGet(hi - lo) == n) {
+				root.compareAndSet(t, nt);
+				// writes made during the migration may have filled the new table
+				if (size.get() > nt.bins.length() / 4 * 3)
+					resize(nt);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Move one bin to the new table, where its keys go to the same index or to
+	 * that index plus the old length. Only the thread that claimed this bin
+	 * writes those two bins of the new table, and no one else looks at them
+	 * until the forwarding node is in place.
+	 */
+	private void migrate(Table<K, V> t, Table<K, V> nt, int i, Forward<K, V> forward) {
+		int n = t.bins.length();
+		while (true) {
+			Node<K, V> chain = t.bins.get(i);
+			Node<K, V> low = null, high = null;
+			for (Node<K, V> node = chain; node != null; node = node.next) {
+				if ((node.hash & n) == 0)
+					low = new Node<K, V>(node.hash, node.key, node.val, low);
+				else
+					high = new Node<K, V>(node.hash, node.key, node.val, high);
+			}
+			nt.bins.set(i, low);
+			nt.bins.set(i + n, high);
+			// if a writer changed the bin meanwhile, copy it again
+			if (t.bins.compareAndSet(i, chain, forward))
+				return;
+		}
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported). It
+	 * copies out the keys of one bin of the current table at a time (following
+	 * any forwarding nodes), so it never throws because of concurrent changes,
+	 * and returns each key that is in the map throughout the iteration exactly
+	 * once.
+	 */
+	public Iterator<K> iterator() {
+		final Table<K, V> start = root.get();
+		return new Iterator<K>() {
+
+			// the next bin of the starting table to copy
+			int bin = 0;
+
+			// the keys copied from the current bin, and the next to return
+			ArrayList<K> buffer = new ArrayList<K>();
+			int current = 0;
+
+			public boolean hasNext() {
+				while (current == buffer.size()) {
+					if (bin == start.bins.length())
+						return false;
+					buffer.clear();
+					current = 0;
+					collect(start, bin++, buffer);
+				}
+				return true;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return buffer.get(current++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add the keys of a bin to a list, following the bin to the two bins it was
+	 * split into if it has been migrated.
+	 */
+	private void collect(Table<K, V> t, int i, ArrayList<K> keys) {
+		Node<K, V> chain = t.bins.get(i);
+		if (chain instanceof Forward) {
+			Table<K, V> nt = ((Forward<K, V>) chain).to;
+			collect(nt, i, keys);
+			collect(nt, i + t.bins.length(), keys);
+			return;
+		}
+		for (Node<K, V> node = chain; node != null; node = node.next)
+			keys.add(node.key);
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		int hash = spread(key);
+		Table<K, V> t = root.get();
+		while (true) {
+			int i = indexFor(hash, t);
+			Node<K, V> chain = t.bins.get(i);
+			if (chain instanceof Forward) {
+				help(t);
+				t = ((Forward<K, V>) chain).to;
+				continue;
+			}
+			Node<K, V> old = find(chain, key, hash);
+			if (old != null) {
+				// key was already in the map, so replace its node
+				Node<K, V> node = new Node<K, V>(hash, key, val, old.next);
+				if (t.bins.compareAndSet(i, chain, copyBefore(chain, old, node)))
+					return;
+			} else if (t.bins.compareAndSet(i, chain, new Node<K, V>(hash, key, val, chain))) {
+				if (size.incrementAndGet() > t.bins.length() / 4 * 3)
+					resize(t);
+				else if (t.next.get() != null)
+					help(t);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Node<K, V> node = lookup(key);
+		return node == null ? null : node.val;
+	}
+
+	/**
+	 * Find a key's node, following forwarding nodes to newer tables.
+	 *
+	 * @return The node, or null if the key isn't in the map
+	 */
+	private Node<K, V> lookup(K key) {
+		int hash = spread(key);
+		Table<K, V> t = root.get();
+		while (true) {
+			Node<K, V> chain = t.bins.get(indexFor(hash, t));
+			if (!(chain instanceof Forward))
+				return find(chain, key, hash);
+			t = ((Forward<K, V>) chain).to;
+		}
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && lookup(key) != null;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int hash = spread(key);
+		Table<K, V> t = root.get();
+		while (true) {
+			int i = indexFor(hash, t);
+			Node<K, V> chain = t.bins.get(i);
+			if (chain instanceof Forward) {
+				help(t);
+				t = ((Forward<K, V>) chain).to;
+				continue;
+			}
+			Node<K, V> old = find(chain, key, hash);
+			if (old == null)
+				return;
+			if (t.bins.compareAndSet(i, chain, copyBefore(chain, old, old.next))) {
+				size.decrementAndGet();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of associations in this map. While other threads are
+	 * writing, this is only an estimate.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
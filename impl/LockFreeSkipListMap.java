@@ -0,0 +1,433 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+import adt.SortedMap;
+
+/**
+ * LockFreeSkipListMap
+ *
+ * A thread-safe implementation of the SortedMap ADT that never locks: the
+ * lock-free skip list of Herlihy and Shavit. Each node is on the bottom list,
+ * which holds every key in order, and on a random number of the lists above it
+ * (each level holding about half the nodes of the one below), so a search
+ * drops down from the sparse top list and takes expected O(log n) steps.
+ *
+ * The next pointers are AtomicMarkableReferences. remove() deletes a node
+ * logically by marking its next pointers, top level first; the mark on the
+ * bottom level decides which remover wins and is the moment the key leaves
+ * the map. Threads that later pass a marked node unlink it with a
+ * compare-and-set on its predecessor. put() links a new node in bottom level
+ * first (the moment the key joins the map) and then the levels above it,
+ * retrying any compare-and-set that a concurrent change beat. Lookups never
+ * write: they simply step over marked nodes.
+ *
+ * Iterators, subMap() and the navigation methods are weakly consistent: they
+ * never throw because of concurrent changes, return keys in ascending order,
+ * and return each key that is in the map throughout the iteration exactly
+ * once, but may or may not see keys added or removed meanwhile. size() reads a
+ * shared counter, so it too reflects some recent state of the map.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class LockFreeSkipListMap<K extends Comparable<K>, V> implements SortedMap<K, V> {
+
+	/**
+	 * The number of levels; with p = 1/2 that serves well beyond 2^31 keys.
+	 */
+	private static final int MAX_LEVEL = 32;
+
+	/**
+	 * Class for the nodes of the lists. The head and tail sentinels have null
+	 * keys.
+	 */
+	private static final class Node<K, V> {
+		final K key;
+		volatile V val;
+		final AtomicMarkableReference<Node<K, V>>[] next;
+		final int topLevel;
+
+		@SuppressWarnings("unchecked")
+		Node(K key, V val, int topLevel) {
+			this.key = key;
+			this.val = val;
+			this.topLevel = topLevel;
+			next = (AtomicMarkableReference<Node<K, V>>[]) new AtomicMarkableReference[topLevel + 1];
+		}
+
+		/**
+		 * Has this node been removed (or is it being removed)?
+		 */
+		boolean removed() {
+			return next[0].isMarked();
+		}
+	}
+
+	private final Node<K, V> head;
+	private final Node<K, V> tail;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Plain constructor.
+	 */
+	public LockFreeSkipListMap() {
+		head = new Node<K, V>(null, null, MAX_LEVEL - 1);
+		tail = new Node<K, V>(null, null, MAX_LEVEL - 1);
+		for (int level = 0; level < MAX_LEVEL; level++) {
+			head.next[level] = new AtomicMarkableReference<Node<K, V>>(tail, false);
+			tail.next[level] = new AtomicMarkableReference<Node<K, V>>(null, false);
+		}
+	}
+
+	/**
+	 * A random level for a new node: level l with probability 2^-(l+1).
+	 */
+	private static int randomLevel() {
+		int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+		return Integer.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Is a node before a key? The tail comes after every key.
+	 */
+	private boolean before(Node<K, V> node, K key) {
+		return node != tail && node.key.compareTo(key) < 0;
+	}
+
+	/**
+	 * Find, at each level, the last node before a key and the node after it,
+	 * unlinking marked nodes on the way.
+	 *
+	 * @return The unmarked node holding the key, or null if it isn't in the map
+	 */
+	private Node<K, V> find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+		boolean[] marked = { false };
+		retry: while (true) {
+			Node<K, V> pred = head;
+			Node<K, V> curr = null;
+			for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+				curr = pred.next[level].getReference();
+				while (true) {
+					Node<K, V> succ = curr.next[level].get(marked);
+					while (marked[0]) {
+						// curr is being removed, so help unlink it here
+						if (!pred.next[level].compareAndSet(curr, succ, false, false))
+							continue retry;
+						curr = succ;
+						succ = curr.next[level].get(marked);
+					}
+					if (!before(curr, key))
+						break;
+					pred = curr;
+					curr = succ;
+				}
+				preds[level] = pred;
+				succs[level] = curr;
+			}
+			return curr != tail && curr.key.compareTo(key) == 0 ? curr : null;
+		}
+	}
+
+	/**
+	 * Find the first node on the bottom level, from a given node on, that is at
+	 * or after a key (or any node, if the key is null) and not removed.
+	 *
+	 * @return That node, or the tail if there is none
+	 */
+	private Node<K, V> firstFrom(Node<K, V> node, K key) {
+		while (node != tail && (node == head || node.removed() || (key != null && before(node, key))))
+			node = node.next[0].getReference();
+		return node;
+	}
+
+	/**
+	 * Find the last node before a key (or the head) without writing, by
+	 * stepping over marked nodes.
+	 */
+	private Node<K, V> lastBefore(K key, boolean inclusive) {
+		Node<K, V> pred = head;
+		for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+			Node<K, V> curr = pred.next[level].getReference();
+			while (curr != tail) {
+				int c = curr.key.compareTo(key);
+				if (c > 0 || (c == 0 && !inclusive))
+					break;
+				if (!curr.removed())
+					pred = curr;
+				curr = curr.next[level].getReference();
+			}
+		}
+		return pred;
+	}
+
+	/**
+	 * Return an iterator over the keys in ascending order (remove() is
+	 * unsupported). It is weakly consistent.
+	 */
+	public Iterator<K> iterator() {
+		return keysFrom(null, null);
+	}
+
+	/**
+	 * Return an iterator over the keys that are at least from (or all keys if
+	 * from is null) and less than to (or unbounded if to is null).
+	 */
+	private Iterator<K> keysFrom(final K from, final K to) {
+		return new Iterator<K>() {
+
+			// the node whose key is next, or the tail
+			Node<K, V> current = firstFrom(from == null ? head : lastBefore(from, false), from);
+
+			public boolean hasNext() {
+				return current != tail && (to == null || before(current, to));
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				K key = current.key;
+				// even a removed node's pointer still leads on down the list
+				current = firstFrom(current.next[0].getReference(), null);
+				return key;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	@SuppressWarnings("unchecked")
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		Node<K, V>[] preds = (Node<K, V>[]) new Node[MAX_LEVEL];
+		Node<K, V>[] succs = (Node<K, V>[]) new Node[MAX_LEVEL];
+		int topLevel = randomLevel();
+		while (true) {
+			Node<K, V> found = find(key, preds, succs);
+			if (found != null) {
+				// key was already in the map, so just replace the value, unless
+				// the node was removed meanwhile, in which case insert again
+				found.val = val;
+				if (!found.removed())
+					return;
+				continue;
+			}
+			Node<K, V> node = new Node<K, V>(key, val, topLevel);
+			for (int level = 0; level <= topLevel; level++)
+				node.next[level] = new AtomicMarkableReference<Node<K, V>>(succs[level], false);
+			if (!preds[0].next[0].compareAndSet(succs[0], node, false, false))
+				continue;
+			size.incrementAndGet();
+			for (int level = 1; level <= topLevel; level++) {
+				while (true) {
+					if (preds[level].next[level].compareAndSet(succs[level], node, false, false))
+						break;
+					find(key, preds, succs);
+					// a remover may have marked the node already; then it is gone
+					// and need not be linked higher
+					if (node.removed())
+						return;
+					Node<K, V> succ = node.next[level].getReference();
+					if (succ != succs[level]
+							&& !node.next[level].compareAndSet(succ, succs[level], false, false))
+						return;
+				}
+			}
+			return;
+		}
+	}
+
+	/**
+	 * Find the unmarked node holding a key, without writing.
+	 *
+	 * @return The node, or null if the key isn't in the map
+	 */
+	private Node<K, V> lookup(K key) {
+		Node<K, V> pred = lastBefore(key, false);
+		Node<K, V> curr = firstFrom(pred.next[0].getReference(), null);
+		return curr != tail && curr.key.compareTo(key) == 0 ? curr : null;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Node<K, V> node = lookup(key);
+		return node == null ? null : node.val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && lookup(key) != null;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	@SuppressWarnings("unchecked")
+	public void remove(K key) {
+		if (key == null)
+			return;
+		Node<K, V>[] preds = (Node<K, V>[]) new Node[MAX_LEVEL];
+		Node<K, V>[] succs = (Node<K, V>[]) new Node[MAX_LEVEL];
+		Node<K, V> node = find(key, preds, succs);
+		if (node == null)
+			return;
+		// mark the upper levels, so no more nodes get linked after this one there
+		boolean[] marked = { false };
+		for (int level = node.topLevel; level >= 1; level--) {
+			Node<K, V> succ = node.next[level].get(marked);
+			while (!marked[0]) {
+				node.next[level].compareAndSet(succ, succ, false, true);
+				succ = node.next[level].get(marked);
+			}
+		}
+		// whoever marks the bottom level removes the key
+		Node<K, V> succ = node.next[0].get(marked);
+		while (!marked[0]) {
+			if (node.next[0].compareAndSet(succ, succ, false, true)) {
+				size.decrementAndGet();
+				// unlink it
+				find(key, preds, succs);
+				return;
+			}
+			succ = node.next[0].get(marked);
+		}
+	}
+
+	/**
+	 * Return the number of associations in this map. While other threads are
+	 * writing, this is only an estimate.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * The smallest key in the map.
+	 *
+	 * @return The first key, or null if the map is empty
+	 */
+	public K firstKey() {
+		return firstFrom(head, null).key;
+	}
+
+	/**
+	 * The largest key in the map.
+	 *
+	 * @return The last key, or null if the map is empty
+	 */
+	public K lastKey() {
+		Node<K, V> pred = head;
+		for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+			for (Node<K, V> curr = pred.next[level].getReference(); curr != tail; curr = curr.next[level]
+					.getReference())
+				if (!curr.removed())
+					pred = curr;
+		}
+		return pred.key;
+	}
+
+	/**
+	 * The greatest key in the map less than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The floor of the key, or null if there is none
+	 */
+	public K floorKey(K key) {
+		if (key == null)
+			return null;
+		return lastBefore(key, true).key;
+	}
+
+	/**
+	 * The least key in the map greater than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The ceiling of the key, or null if there is none
+	 */
+	public K ceilingKey(K key) {
+		if (key == null)
+			return null;
+		return firstFrom(lastBefore(key, false), key).key;
+	}
+
+	/**
+	 * The keys in a range, in ascending order. The range includes fromKey and
+	 * excludes toKey. The iterator is weakly consistent.
+	 *
+	 * @param fromKey
+	 *            The low end of the range (inclusive)
+	 * @param toKey
+	 *            The high end of the range (exclusive)
+	 * @return The keys in the range, in order
+	 */
+	public Iterable<K> subMap(final K fromKey, final K toKey) {
+		if (fromKey == null || toKey == null)
+			throw new NullPointerException();
+		return new Iterable<K>() {
+			public Iterator<K> iterator() {
+				return keysFrom(fromKey, toKey);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
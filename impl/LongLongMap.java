@@ -0,0 +1,382 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * LongLongMap
+ *
+ * A map from primitive longs to primitive longs, the counterpart of IntIntMap
+ * for keys and values too wide for an int, such as 64-bit IDs and byte
+ * counts. It works the same way: keys and values live in parallel arrays whose
+ * length is a power of two, collisions are resolved by linear probing, removal
+ * shifts later entries of the probe run back into the hole, and a key of 0
+ * marks an empty slot (so the association for 0 itself is kept off to the
+ * side). Nothing is allocated except when the table grows.
+ *
+ * Since a value can't be null, get() returns 0 for keys that are not in the
+ * map; containsKey() or getOrDefault() tell that apart from a stored 0. As with
+ * Map, remove() does nothing for keys that are not in the map.
+ *
+ * asMap() gives a view of the map as a Map of Longs, for code written against
+ * the ADT; it boxes, so it is for compatibility rather than speed.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ */
+public class LongLongMap {
+
+	/**
+	 * The key that marks an empty slot.
+	 */
+	private static final long FREE = 0;
+
+	/**
+	 * The default number of slots in a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The most slots a table can have, the largest power of two an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 30;
+
+	/**
+	 * The keys of the map (other than 0).
+	 */
+	private long[] keys;
+
+	/**
+	 * The values of the map, parallel to keys.
+	 */
+	private long[] vals;
+
+	/**
+	 * Whether 0 is a key of the map, and if so its value.
+	 */
+	private boolean hasFreeKey = false;
+	private long freeVal;
+
+	/**
+	 * The number of associations in the map (including one for 0).
+	 */
+	private int size = 0;
+
+	/**
+	 * The number of slots in use at which the table is doubled.
+	 */
+	private int threshold;
+
+	/**
+	 * Plain constructor.
+	 */
+	public LongLongMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public LongLongMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int length = DEFAULT_CAPACITY;
+		while (length / 2 < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		allocate(length);
+	}
+
+	/**
+	 * Replace the internal arrays with empty ones of the given length. The table
+	 * is kept at most half full.
+	 */
+	private void allocate(int length) {
+		keys = new long[length];
+		vals = new long[length];
+		threshold = length / 2;
+	}
+
+	/**
+	 * Find the slot at which a key's probe sequence starts.
+	 */
+	private int home(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		int g = (int) (h ^ (h >>> 32));
+		return (g ^ (g >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Find the slot that holds a (nonzero) key.
+	 *
+	 * @return The slot holding the key, or -1 if it isn't in the map
+	 */
+	private int indexOf(long key) {
+		int mask = keys.length - 1;
+		for (int i = home(key);; i = (i + 1) & mask) {
+			if (keys[i] == key)
+				return i;
+			if (keys[i] == FREE)
+				return -1;
+		}
+	}
+
+	/**
+	 * Find the slot that holds a (nonzero) key, adding the key with the value 0
+	 * if it isn't in the map.
+	 *
+	 * @return The slot holding the key
+	 */
+	private int insert(long key) {
+		int mask = keys.length - 1;
+		int i;
+		for (i = home(key); keys[i] != FREE; i = (i + 1) & mask)
+			if (keys[i] == key)
+				return i;
+		if (size >= threshold) {
+			grow();
+			return insert(key);
+		}
+		keys[i] = key;
+		vals[i] = 0;
+		size++;
+		return i;
+	}
+
+	/**
+	 * Cause the table to double in size, rehashing every association.
+	 */
+	private void grow() {
+		long[] oldKeys = keys;
+		long[] oldVals = vals;
+		allocate(keys.length * 2);
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] == FREE)
+				continue;
+			int i = home(oldKeys[j]);
+			while (keys[i] != FREE)
+				i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			vals[i] = oldVals[j];
+		}
+	}
+
+	/**
+	 * Add an association to the map, replacing any value already there.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(long key, long val) {
+		if (key == FREE) {
+			if (!hasFreeKey)
+				size++;
+			hasFreeKey = true;
+			freeVal = val;
+			return;
+		}
+		// insert() may grow the table, so call it before reading vals
+		int i = insert(key);
+		vals[i] = val;
+	}
+
+	/**
+	 * Add to the value for a key, treating a key not in the map as having the
+	 * value 0.
+	 *
+	 * @param key
+	 *            The key whose value to add to
+	 * @param delta
+	 *            The amount to add
+	 * @return The new value
+	 */
+	public long addTo(long key, long delta) {
+		if (key == FREE) {
+			if (!hasFreeKey) {
+				size++;
+				hasFreeKey = true;
+				freeVal = 0;
+			}
+			return freeVal += delta;
+		}
+		int i = insert(key);
+		return vals[i] += delta;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, 0 if none exists
+	 */
+	public long get(long key) {
+		return getOrDefault(key, 0);
+	}
+
+	/**
+	 * Get the value for a key, or a given value if the key isn't in the map.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @param missing
+	 *            The value to return if there is no association for the key
+	 * @return The value associated with this key, missing if none exists
+	 */
+	public long getOrDefault(long key, long missing) {
+		if (key == FREE)
+			return hasFreeKey ? freeVal : missing;
+		int i = indexOf(key);
+		return i < 0 ? missing : vals[i];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(long key) {
+		if (key == FREE)
+			return hasFreeKey;
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(long key) {
+		if (key == FREE) {
+			if (hasFreeKey)
+				size--;
+			hasFreeKey = false;
+			return;
+		}
+		int hole = indexOf(key);
+		if (hole < 0)
+			return;
+
+		// pull back every later key of the run that may legally sit in the hole
+		int mask = keys.length - 1;
+		for (int j = (hole + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+			int h = home(keys[j]);
+			if (((j - h) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				vals[hole] = vals[j];
+				hole = j;
+			}
+		}
+		keys[hole] = FREE;
+		size--;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * A view of this map as a Map of Longs. Changes to either show in the
+	 * other. Putting a null value throws a NullPointerException, since the map
+	 * can't hold one.
+	 *
+	 * @return The view
+	 */
+	public Map<Long, Long> asMap() {
+		return new Map<Long, Long>() {
+
+			public Iterator<Long> iterator() {
+				return new Iterator<Long>() {
+
+					// the next slot to look at, or -1 for the key 0
+					int current = hasFreeKey ? -1 : 0;
+
+					public boolean hasNext() {
+						while (current >= 0 && current < keys.length && keys[current] == FREE)
+							current++;
+						return current < keys.length;
+					}
+
+					public Long next() {
+						if (!hasNext())
+							throw new NoSuchElementException();
+						if (current < 0) {
+							current = 0;
+							return FREE;
+						}
+						return keys[current++];
+					}
+
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			public void put(Long key, Long val) {
+				if (key != null)
+					LongLongMap.this.put(key, val);
+			}
+
+			public Long get(Long key) {
+				return key != null && containsKey(key) ? LongLongMap.this.get(key) : null;
+			}
+
+			public boolean containsKey(Long key) {
+				return key != null && LongLongMap.this.containsKey(key);
+			}
+
+			public void remove(Long key) {
+				if (key != null)
+					LongLongMap.this.remove(key);
+			}
+
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public String toString() {
+				return LongLongMap.this.toString();
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		if (hasFreeKey) {
+			toReturn += FREE + "=" + freeVal;
+			prefix = true;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == FREE)
+				continue;
+			if (prefix)
+				toReturn += ", ";
+			toReturn += keys[i] + "=" + vals[i];
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
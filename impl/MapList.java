@@ -1,13 +1,14 @@
 package impl;
 
 import java.util.Iterator;
-import adt.Map;
 import adt.List;
 
 /**
  * MapList
  * 
  * An implementation of List that uses a Map as its underlying implementation.
+ * Since the keys are always the indices 0..size-1, the map is an IntObjectMap,
+ * which stores them as plain ints instead of boxing each one into an Integer.
  * 
  * CSCI 345, Wheaton College Spring 2016
  * 
@@ -17,9 +18,9 @@ import adt.List;
 public class MapList<E> implements List<E> {
 
 	/**
-	 * The internal representation (can be any implementation of map).
+	 * The internal representation, a map from index to element.
 	 */
-	private Map<Integer, E> internal;
+	private IntObjectMap<E> internal;
 	int size = 0;
 
 	/**
@@ -30,7 +31,7 @@ public class MapList<E> implements List<E> {
 	 * instead).
 	 */
 	public MapList() {
-		this.internal = new ArrayMap<Integer, E>();
+		this.internal = new IntObjectMap<E>();
 
 	}
 
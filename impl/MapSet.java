@@ -26,6 +26,18 @@ public class MapSet<E> implements Set<E> {
 		this.internal = new ArrayMap<E, String>();
 	}
 
+	/**
+	 * Constructor that is given the internal representation, so that any
+	 * implementation of Map (for example HashMap) can back this set. The map
+	 * should be empty.
+	 * 
+	 * @param internal
+	 *            The map in which to store the items
+	 */
+	public MapSet(Map<E, String> internal) {
+		this.internal = internal;
+	}
+
 	/**
 	 * Return an iterator over this collection (remove() is unsupported, nor is
 	 * concurrent modification checked).
@@ -84,14 +96,7 @@ public class MapSet<E> implements Set<E> {
 	 * @return The number of items.
 	 */
 	public int size() {
-		Iterator<E> it = internal.iterator();
-		int size = 0;
-		while(it.hasNext()) {
-			size++;
-			it.next();
-		}
-		
-		return size;
+		return internal.size();
 	}
 
 	/**
@@ -100,7 +105,7 @@ public class MapSet<E> implements Set<E> {
 	 * @return True if the set is empty, false otherwise.
 	 */
 	public boolean isEmpty() {
-		return size() <= 0;
+		return internal.size() == 0;
 	}
 
 	@Override
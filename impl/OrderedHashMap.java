@@ -0,0 +1,309 @@
+package impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * OrderedHashMap
+ *
+ * Class to implement the Map ADT as a hash table that iterates in the order
+ * keys were first put, so the same sequence of operations always gives the
+ * same iteration order. (Putting a key that is already in the map keeps its
+ * place; removing a key and putting it again moves it to the end.)
+ *
+ * The associations are kept in dense arrays of keys, values and hash codes, in
+ * the order they were added, and a separate sparse table of ints, probed
+ * linearly, holds for each key the position of its association. The table is
+ * twice as long as the dense arrays, so it is at most half full, but costs an
+ * int a slot rather than the two references of an open-addressing table, and
+ * iteration walks the dense arrays rather than a mostly empty table. Removing
+ * an association leaves a hole in the dense arrays and a marker in the table;
+ * when the dense arrays fill up, or when they are mostly holes, the
+ * associations still in the map are packed into new arrays, in order, and the
+ * table is rebuilt.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class OrderedHashMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The default length of the dense arrays of a new map.
+	 */
+	private static final int DEFAULT_CAPACITY = 8;
+
+	/**
+	 * The most associations the dense arrays can hold, so that the table, twice
+	 * as long, still has a power-of-two length an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 29;
+
+	/**
+	 * Marks in the table: a slot that has never been used, and one whose
+	 * association was removed (which probes must pass over). Any other slot holds
+	 * the position of an association in the dense arrays.
+	 */
+	private static final int EMPTY = -1;
+	private static final int REMOVED = -2;
+
+	/**
+	 * The sparse table, twice the length of the dense arrays.
+	 */
+	private int[] table;
+
+	/**
+	 * The associations in the order they were added, with their keys' spread hash
+	 * codes, in positions 0 to used - 1. A removed association leaves a null key.
+	 */
+	private Object[] keys;
+	private Object[] vals;
+	private int[] hashes;
+
+	/**
+	 * The number of positions of the dense arrays used so far, and the number of
+	 * associations in the map.
+	 */
+	private int used = 0;
+	private int size = 0;
+
+	/**
+	 * Plain constructor.
+	 */
+	public OrderedHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public OrderedHashMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int length = DEFAULT_CAPACITY;
+		while (length < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		allocate(length);
+	}
+
+	/**
+	 * Replace the arrays with empty ones for the given number of associations.
+	 *
+	 * @param capacity
+	 *            The new length of the dense arrays, a power of two
+	 */
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		vals = new Object[capacity];
+		hashes = new int[capacity];
+		table = new int[2 * capacity];
+		Arrays.fill(table, EMPTY);
+	}
+
+	/**
+	 * Mix the high bits of a key's hash code into the low ones, since the table
+	 * only uses the low ones.
+	 */
+	private static int spread(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Find the table slot that refers to a key.
+	 *
+	 * @return The slot, or -1 if the key isn't in the map
+	 */
+	private int slotOf(Object key, int hash) {
+		int mask = table.length - 1;
+		for (int i = hash & mask;; i = (i + 1) & mask) {
+			int position = table[i];
+			if (position == EMPTY)
+				return -1;
+			if (position != REMOVED && hashes[position] == hash && key.equals(keys[position]))
+				return i;
+		}
+	}
+
+	/**
+	 * Pack the associations still in the map, in order, into arrays with room
+	 * for twice as many, and rebuild the table.
+	 */
+	private void compact() {
+		Object[] oldKeys = keys;
+		Object[] oldVals = vals;
+		int[] oldHashes = hashes;
+		int oldUsed = used;
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity < 2 * size)
+			capacity *= 2;
+		allocate(capacity);
+		used = 0;
+		int mask = table.length - 1;
+		for (int j = 0; j < oldUsed; j++) {
+			if (oldKeys[j] == null)
+				continue;
+			// no key can be found twice, so there is no need for equals()
+			int i = oldHashes[j] & mask;
+			while (table[i] != EMPTY)
+				i = (i + 1) & mask;
+			table[i] = used;
+			keys[used] = oldKeys[j];
+			vals[used] = oldVals[j];
+			hashes[used] = oldHashes[j];
+			used++;
+		}
+	}
+
+	/**
+	 * Return an iterator over this collection in the order the keys were added
+	 * (remove() is unsupported, nor is concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the next position to look at
+			int current = 0;
+
+			public boolean hasNext() {
+				while (current < used && keys[current] == null)
+					current++;
+				return current < used;
+			}
+
+			@SuppressWarnings("unchecked")
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return (K) keys[current++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map. A new key goes after all the others.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		int hash = spread(key);
+		int slot = slotOf(key, hash);
+		if (slot >= 0) {
+			// key was already in the map, so just replace the value
+			vals[table[slot]] = val;
+			return;
+		}
+		if (used == keys.length)
+			compact();
+		// a new key goes in the first slot of its probe sequence not in use
+		int mask = table.length - 1;
+		int i = hash & mask;
+		while (table[i] >= 0)
+			i = (i + 1) & mask;
+		table[i] = used;
+		keys[used] = key;
+		vals[used] = val;
+		hashes[used] = hash;
+		used++;
+		size++;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		if (key == null)
+			return null;
+		int slot = slotOf(key, spread(key));
+		return slot < 0 ? null : (V) vals[table[slot]];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && slotOf(key, spread(key)) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists. The order of the others
+	 * is unchanged.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int slot = slotOf(key, spread(key));
+		if (slot < 0)
+			return;
+		int position = table[slot];
+		table[slot] = REMOVED;
+		keys[position] = null;
+		vals[position] = null;
+		size--;
+		// don't let iteration wade through mostly holes
+		if (used > DEFAULT_CAPACITY && size < used / 4)
+			compact();
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (int i = 0; i < used; i++) {
+			if (keys[i] == null)
+				continue;
+			if (prefix)
+				toReturn += ", ";
+			toReturn += keys[i] + "=" + vals[i];
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
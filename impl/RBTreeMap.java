@@ -0,0 +1,539 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.SortedMap;
+
+/**
+ * RBTreeMap
+ *
+ * Class to implement the SortedMap ADT using a red-black tree. Every path from
+ * the root to a leaf has the same number of black nodes and no red node has a
+ * red child, so the height stays within 2 lg(n+1) and put(), get(), remove()
+ * and the navigation methods are all O(log n). The algorithms follow CLRS
+ * chapter 13, with a per-tree sentinel standing in for the nil leaves.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class RBTreeMap<K extends Comparable<K>, V> implements SortedMap<K, V> {
+
+	private static final boolean RED = true;
+	private static final boolean BLACK = false;
+
+	/**
+	 * Class for the nodes of the tree.
+	 */
+	private static class Node<K, V> {
+		K key;
+		V val;
+		boolean color;
+		Node<K, V> left, right, parent;
+
+		Node(K key, V val, boolean color, Node<K, V> nil) {
+			this.key = key;
+			this.val = val;
+			this.color = color;
+			this.left = nil;
+			this.right = nil;
+			this.parent = nil;
+		}
+	}
+
+	/**
+	 * The sentinel that stands for every leaf (and for the root's parent).
+	 */
+	private final Node<K, V> nil;
+
+	/**
+	 * The root of the tree, nil if the map is empty.
+	 */
+	private Node<K, V> root;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private int size = 0;
+
+	/**
+	 * Plain constructor.
+	 */
+	public RBTreeMap() {
+		nil = new Node<K, V>(null, null, BLACK, null);
+		root = nil;
+	}
+
+	/**
+	 * Find the node holding a key.
+	 *
+	 * @param key
+	 *            The key to look for
+	 * @return The node holding the key, or nil if it isn't in the map
+	 */
+	private Node<K, V> find(K key) {
+		Node<K, V> current = root;
+		while (current != nil) {
+			int c = key.compareTo(current.key);
+			if (c == 0)
+				return current;
+			current = c < 0 ? current.left : current.right;
+		}
+		return nil;
+	}
+
+	/**
+	 * The leftmost node of a subtree.
+	 */
+	private Node<K, V> min(Node<K, V> node) {
+		if (node == nil)
+			return nil;
+		while (node.left != nil)
+			node = node.left;
+		return node;
+	}
+
+	/**
+	 * The rightmost node of a subtree.
+	 */
+	private Node<K, V> max(Node<K, V> node) {
+		if (node == nil)
+			return nil;
+		while (node.right != nil)
+			node = node.right;
+		return node;
+	}
+
+	/**
+	 * The node following this one in key order, nil if it is the last.
+	 */
+	private Node<K, V> successor(Node<K, V> node) {
+		if (node.right != nil)
+			return min(node.right);
+		Node<K, V> parent = node.parent;
+		while (parent != nil && node == parent.right) {
+			node = parent;
+			parent = parent.parent;
+		}
+		return parent;
+	}
+
+	/**
+	 * The node with the least key greater than or equal to the given one.
+	 */
+	private Node<K, V> ceiling(K key) {
+		Node<K, V> current = root, best = nil;
+		while (current != nil) {
+			int c = key.compareTo(current.key);
+			if (c == 0)
+				return current;
+			if (c < 0) {
+				best = current;
+				current = current.left;
+			} else
+				current = current.right;
+		}
+		return best;
+	}
+
+	/**
+	 * The node with the greatest key less than or equal to the given one.
+	 */
+	private Node<K, V> floor(K key) {
+		Node<K, V> current = root, best = nil;
+		while (current != nil) {
+			int c = key.compareTo(current.key);
+			if (c == 0)
+				return current;
+			if (c > 0) {
+				best = current;
+				current = current.right;
+			} else
+				current = current.left;
+		}
+		return best;
+	}
+
+	private void rotateLeft(Node<K, V> x) {
+		Node<K, V> y = x.right;
+		x.right = y.left;
+		if (y.left != nil)
+			y.left.parent = x;
+		y.parent = x.parent;
+		if (x.parent == nil)
+			root = y;
+		else if (x == x.parent.left)
+			x.parent.left = y;
+		else
+			x.parent.right = y;
+		y.left = x;
+		x.parent = y;
+	}
+
+	private void rotateRight(Node<K, V> x) {
+		Node<K, V> y = x.left;
+		x.left = y.right;
+		if (y.right != nil)
+			y.right.parent = x;
+		y.parent = x.parent;
+		if (x.parent == nil)
+			root = y;
+		else if (x == x.parent.right)
+			x.parent.right = y;
+		else
+			x.parent.left = y;
+		y.right = x;
+		x.parent = y;
+	}
+
+	/**
+	 * Return an iterator over the keys in ascending order (remove() is
+	 * unsupported, nor is concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return keysFrom(min(root), null);
+	}
+
+	/**
+	 * Return an iterator over the keys from a node on, stopping before the
+	 * first key that is not less than the bound (or at the end if the bound is
+	 * null).
+	 */
+	private Iterator<K> keysFrom(final Node<K, V> start, final K bound) {
+		return new Iterator<K>() {
+			Node<K, V> current = start;
+
+			public boolean hasNext() {
+				return current != nil && (bound == null || current.key.compareTo(bound) < 0);
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				K key = current.key;
+				current = successor(current);
+				return key;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+
+		Node<K, V> parent = nil, current = root;
+		int c = 0;
+		while (current != nil) {
+			c = key.compareTo(current.key);
+			if (c == 0) {
+				// key was already in the map, so just replace the value
+				current.val = val;
+				return;
+			}
+			parent = current;
+			current = c < 0 ? current.left : current.right;
+		}
+
+		Node<K, V> z = new Node<K, V>(key, val, RED, nil);
+		z.parent = parent;
+		if (parent == nil)
+			root = z;
+		else if (c < 0)
+			parent.left = z;
+		else
+			parent.right = z;
+		size++;
+		insertFixup(z);
+	}
+
+	/**
+	 * Restore the red-black properties after inserting the red node z.
+	 */
+	private void insertFixup(Node<K, V> z) {
+		while (z.parent.color == RED) {
+			Node<K, V> grand = z.parent.parent;
+			if (z.parent == grand.left) {
+				Node<K, V> uncle = grand.right;
+				if (uncle.color == RED) {
+					// recolor and move the problem up the tree
+					z.parent.color = BLACK;
+					uncle.color = BLACK;
+					grand.color = RED;
+					z = grand;
+				} else {
+					if (z == z.parent.right) {
+						z = z.parent;
+						rotateLeft(z);
+					}
+					z.parent.color = BLACK;
+					grand.color = RED;
+					rotateRight(grand);
+				}
+			} else {
+				Node<K, V> uncle = grand.left;
+				if (uncle.color == RED) {
+					z.parent.color = BLACK;
+					uncle.color = BLACK;
+					grand.color = RED;
+					z = grand;
+				} else {
+					if (z == z.parent.left) {
+						z = z.parent;
+						rotateRight(z);
+					}
+					z.parent.color = BLACK;
+					grand.color = RED;
+					rotateLeft(grand);
+				}
+			}
+		}
+		root.color = BLACK;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		return find(key).val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && find(key) != nil;
+	}
+
+	/**
+	 * Put node v in the place of node u (as far as u's parent is concerned).
+	 */
+	private void transplant(Node<K, V> u, Node<K, V> v) {
+		if (u.parent == nil)
+			root = v;
+		else if (u == u.parent.left)
+			u.parent.left = v;
+		else
+			u.parent.right = v;
+		v.parent = u.parent;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		Node<K, V> z = find(key);
+		if (z == nil)
+			return;
+
+		Node<K, V> y = z, x;
+		boolean removedColor = y.color;
+		if (z.left == nil) {
+			x = z.right;
+			transplant(z, z.right);
+		} else if (z.right == nil) {
+			x = z.left;
+			transplant(z, z.left);
+		} else {
+			// z has two children, so its successor takes its place
+			y = min(z.right);
+			removedColor = y.color;
+			x = y.right;
+			if (y.parent == z)
+				x.parent = y;
+			else {
+				transplant(y, y.right);
+				y.right = z.right;
+				y.right.parent = y;
+			}
+			transplant(z, y);
+			y.left = z.left;
+			y.left.parent = y;
+			y.color = z.color;
+		}
+		size--;
+		if (removedColor == BLACK)
+			removeFixup(x);
+		nil.parent = nil;
+	}
+
+	/**
+	 * Restore the red-black properties after removing a black node, where x
+	 * carries the missing "extra black".
+	 */
+	private void removeFixup(Node<K, V> x) {
+		while (x != root && x.color == BLACK) {
+			if (x == x.parent.left) {
+				Node<K, V> w = x.parent.right;
+				if (w.color == RED) {
+					w.color = BLACK;
+					x.parent.color = RED;
+					rotateLeft(x.parent);
+					w = x.parent.right;
+				}
+				if (w.left.color == BLACK && w.right.color == BLACK) {
+					w.color = RED;
+					x = x.parent;
+				} else {
+					if (w.right.color == BLACK) {
+						w.left.color = BLACK;
+						w.color = RED;
+						rotateRight(w);
+						w = x.parent.right;
+					}
+					w.color = x.parent.color;
+					x.parent.color = BLACK;
+					w.right.color = BLACK;
+					rotateLeft(x.parent);
+					x = root;
+				}
+			} else {
+				Node<K, V> w = x.parent.left;
+				if (w.color == RED) {
+					w.color = BLACK;
+					x.parent.color = RED;
+					rotateRight(x.parent);
+					w = x.parent.left;
+				}
+				if (w.right.color == BLACK && w.left.color == BLACK) {
+					w.color = RED;
+					x = x.parent;
+				} else {
+					if (w.left.color == BLACK) {
+						w.right.color = BLACK;
+						w.color = RED;
+						rotateLeft(w);
+						w = x.parent.left;
+					}
+					w.color = x.parent.color;
+					x.parent.color = BLACK;
+					w.left.color = BLACK;
+					rotateRight(x.parent);
+					x = root;
+				}
+			}
+		}
+		x.color = BLACK;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The smallest key in the map.
+	 *
+	 * @return The first key, or null if the map is empty
+	 */
+	public K firstKey() {
+		return min(root).key;
+	}
+
+	/**
+	 * The largest key in the map.
+	 *
+	 * @return The last key, or null if the map is empty
+	 */
+	public K lastKey() {
+		return max(root).key;
+	}
+
+	/**
+	 * The greatest key in the map less than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The floor of the key, or null if there is none
+	 */
+	public K floorKey(K key) {
+		if (key == null)
+			return null;
+		return floor(key).key;
+	}
+
+	/**
+	 * The least key in the map greater than or equal to the given key.
+	 *
+	 * @param key
+	 *            The key to search from
+	 * @return The ceiling of the key, or null if there is none
+	 */
+	public K ceilingKey(K key) {
+		if (key == null)
+			return null;
+		return ceiling(key).key;
+	}
+
+	/**
+	 * The keys in a range, in ascending order. The range includes fromKey and
+	 * excludes toKey. Finding the start is O(log n); each step after that is
+	 * amortized O(1).
+	 *
+	 * @param fromKey
+	 *            The low end of the range (inclusive)
+	 * @param toKey
+	 *            The high end of the range (exclusive)
+	 * @return The keys in the range, in order
+	 */
+	public Iterable<K> subMap(final K fromKey, final K toKey) {
+		if (fromKey == null || toKey == null)
+			throw new NullPointerException();
+		return new Iterable<K>() {
+			public Iterator<K> iterator() {
+				return keysFrom(ceiling(fromKey), toKey);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (Node<K, V> n = min(root); n != nil; n = successor(n)) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += n.key + "=" + n.val;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
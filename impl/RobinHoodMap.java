@@ -0,0 +1,342 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * RobinHoodMap
+ *
+ * Class to implement the Map ADT using Robin Hood hashing. Like HashMap this
+ * is open addressing with linear probing over a power-of-two table, but every
+ * slot also records its entry's probe length (how far the entry sits from its
+ * home slot), and an entry being inserted takes the slot of any entry that is
+ * closer to home than it is, which then moves on in its place. This evens out
+ * the probe lengths, so the longest probe stays short even at high load, and a
+ * lookup can stop as soon as it passes an entry closer to home than the key it
+ * wants would be.
+ *
+ * remove() uses backward-shift deletion: the entries after the hole that are
+ * not at their home slot each move back one, so the table never holds
+ * tombstones and a table with heavy put/remove churn doesn't degrade.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class RobinHoodMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The default number of slots in a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The most slots a table can have, the largest power of two an int can hold.
+	 */
+	private static final int MAXIMUM_LENGTH = 1 << 30;
+
+	/**
+	 * The keys of the map; a null slot is empty.
+	 */
+	private K[] keys;
+
+	/**
+	 * The values of the map, parallel to keys.
+	 */
+	private V[] vals;
+
+	/**
+	 * The probe length of the entry in each slot, parallel to keys.
+	 */
+	private int[] dist;
+
+	/**
+	 * The number of associations in the map.
+	 */
+	private int size = 0;
+
+	/**
+	 * The sum of the probe lengths of all the entries.
+	 */
+	private long totalDist = 0;
+
+	/**
+	 * The number of associations at which the table is doubled (7/8 full).
+	 */
+	private int threshold;
+
+	/**
+	 * Plain constructor.
+	 */
+	public RobinHoodMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that is given the number of associations we expect to store,
+	 * so that a map built up to that size never has to grow.
+	 *
+	 * @param capacity
+	 *            The expected number of associations
+	 */
+	public RobinHoodMap(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException();
+		int length = DEFAULT_CAPACITY;
+		while (length / 8 * 7 < capacity) {
+			if (length == MAXIMUM_LENGTH)
+				throw new IllegalArgumentException("capacity too large");
+			length *= 2;
+		}
+		allocate(length);
+	}
+
+	/**
+	 * Replace the internal arrays with empty ones of the given length.
+	 */
+	@SuppressWarnings("unchecked")
+	private void allocate(int length) {
+		keys = (K[]) new Object[length];
+		vals = (V[]) new Object[length];
+		dist = new int[length];
+		threshold = length / 8 * 7;
+		totalDist = 0;
+	}
+
+	/**
+	 * Find the slot at which a key's probe sequence starts.
+	 */
+	private int home(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Find the slot that holds a key.
+	 *
+	 * @return The slot holding the key, or -1 if it isn't in the map
+	 */
+	private int indexOf(K key) {
+		int mask = keys.length - 1;
+		int i = home(key);
+		// once we reach an entry nearer its home than the key would be, the
+		// key would have displaced it, so the key isn't in the table
+		for (int d = 0; keys[i] != null && dist[i] >= d; d++) {
+			if (keys[i].equals(key))
+				return i;
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Place an association that is known not to be in the map, displacing
+	 * entries nearer their homes along the way.
+	 */
+	private void insert(K key, V val) {
+		int mask = keys.length - 1;
+		int i = home(key);
+		int d = 0;
+		while (keys[i] != null) {
+			if (dist[i] < d) {
+				// take from the rich: swap, and carry on inserting the evicted entry
+				K k = keys[i];
+				V v = vals[i];
+				int e = dist[i];
+				keys[i] = key;
+				vals[i] = val;
+				dist[i] = d;
+				totalDist += d - e;
+				key = k;
+				val = v;
+				d = e;
+			}
+			i = (i + 1) & mask;
+			d++;
+		}
+		keys[i] = key;
+		vals[i] = val;
+		dist[i] = d;
+		totalDist += d;
+	}
+
+	/**
+	 * Cause the table to double in size, rehashing every association.
+	 */
+	private void grow() {
+		K[] oldKeys = keys;
+		V[] oldVals = vals;
+		allocate(keys.length * 2);
+		for (int j = 0; j < oldKeys.length; j++)
+			if (oldKeys[j] != null)
+				insert(oldKeys[j], oldVals[j]);
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported, nor is
+	 * concurrent modification checked).
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the next slot to look at
+			int current = 0;
+
+			public boolean hasNext() {
+				while (current < keys.length && keys[current] == null)
+					current++;
+				return current < keys.length;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return keys[current++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+
+		int i = indexOf(key);
+		if (i >= 0) {
+			// key was already in the map, so just replace the value
+			vals[i] = val;
+			return;
+		}
+		if (size >= threshold)
+			grow();
+		insert(key, val);
+		size++;
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		int i = indexOf(key);
+		return i < 0 ? null : vals[i];
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && indexOf(key) >= 0;
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int hole = indexOf(key);
+		if (hole < 0)
+			return;
+
+		totalDist -= dist[hole];
+		// shift the following entries back until one is at its home (or the
+		// run ends); each moves one slot nearer home
+		int mask = keys.length - 1;
+		int next = (hole + 1) & mask;
+		while (keys[next] != null && dist[next] > 0) {
+			keys[hole] = keys[next];
+			vals[hole] = vals[next];
+			dist[hole] = dist[next] - 1;
+			totalDist--;
+			hole = next;
+			next = (next + 1) & mask;
+		}
+		keys[hole] = null;
+		vals[hole] = null;
+		dist[hole] = 0;
+		size--;
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The longest probe length of any entry, that is how many slots past its home
+	 * slot the furthest-displaced entry sits. A lookup never examines more than
+	 * this many slots plus one. This scans the whole table, so it is meant for
+	 * monitoring rather than for use on every operation.
+	 *
+	 * @return The maximum probe length
+	 */
+	public int maxProbeLength() {
+		int max = 0;
+		for (int i = 0; i < keys.length; i++)
+			if (keys[i] != null && dist[i] > max)
+				max = dist[i];
+		return max;
+	}
+
+	/**
+	 * The mean probe length over all the entries (0 for an empty map). This is
+	 * kept up to date as the map changes, so it is O(1).
+	 *
+	 * @return The mean probe length
+	 */
+	public double meanProbeLength() {
+		return size == 0 ? 0 : (double) totalDist / size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == null)
+				continue;
+			if (prefix)
+				toReturn += ", ";
+			toReturn += keys[i] + "=" + vals[i];
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
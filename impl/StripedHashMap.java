@@ -0,0 +1,393 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+import adt.Map;
+
+/**
+ * StripedHashMap
+ *
+ * A thread-safe implementation of the Map ADT using lock striping. The keys
+ * are divided among a fixed number of segments by the high bits of their
+ * hash, and each segment is an open-addressing hash table (as in HashMap)
+ * guarded by its own lock, so puts and removes on different segments proceed
+ * in parallel instead of queueing on one lock for the whole map.
+ *
+ * The lock is a StampedLock, and get() and containsKey() first try an
+ * optimistic read: they search the segment without locking and then check that
+ * no writer got in meanwhile, falling back to a read lock only if one did. So
+ * lookups normally take no lock at all. Since an optimistic reader may see the
+ * table mid-update and call equals() on the keys it finds there, keys should
+ * be immutable (as they must be in any hash map anyway).
+ *
+ * size() adds up the segments without locking them, and the iterator copies
+ * one segment's keys at a time, so both reflect some recent state of the map
+ * rather than an atomic snapshot of it while other threads are writing.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class StripedHashMap<K, V> implements Map<K, V> {
+
+	/**
+	 * The default number of segments.
+	 */
+	private static final int DEFAULT_STRIPES = 64;
+
+	/**
+	 * The initial number of slots in each segment's table.
+	 */
+	private static final int SEGMENT_CAPACITY = 16;
+
+	/**
+	 * One stripe of the map: an open-addressing table with linear probing, which
+	 * is also its own lock.
+	 */
+	@SuppressWarnings("serial")
+	private static final class Segment<K, V> extends StampedLock {
+		K[] keys;
+		V[] vals;
+		volatile int size = 0;
+		int threshold;
+
+		Segment(int length) {
+			allocate(length);
+		}
+
+		@SuppressWarnings("unchecked")
+		void allocate(int length) {
+			keys = (K[]) new Object[length];
+			vals = (V[]) new Object[length];
+			threshold = length / 4 * 3;
+		}
+	}
+
+	/**
+	 * The segments; their number is a power of two.
+	 */
+	private final Segment<K, V>[] segments;
+
+	/**
+	 * How far to shift a hash right to get its segment.
+	 */
+	private final int segmentShift;
+
+	/**
+	 * Plain constructor.
+	 */
+	public StripedHashMap() {
+		this(DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Constructor that is given the number of segments, which bounds how many
+	 * writers can work at once. It is rounded up to a power of two.
+	 *
+	 * @param stripes
+	 *            The number of segments
+	 */
+	@SuppressWarnings("unchecked")
+	public StripedHashMap(int stripes) {
+		if (stripes <= 0 || stripes > 1 << 16)
+			throw new IllegalArgumentException();
+		int bits = 0;
+		while (1 << bits < stripes)
+			bits++;
+		segments = (Segment<K, V>[]) new Segment[1 << bits];
+		for (int i = 0; i < segments.length; i++)
+			segments[i] = new Segment<K, V>(SEGMENT_CAPACITY);
+		segmentShift = 32 - bits;
+	}
+
+	/**
+	 * Scramble a key's hash code, so both its high bits (which pick the segment)
+	 * and its low bits (which pick the slot) depend on all of it.
+	 */
+	private static int spread(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private Segment<K, V> segmentFor(int hash) {
+		// with a single segment the shift is 32, which Java treats as 0
+		return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+	}
+
+	/**
+	 * Find the slot of a segment's table that holds a key. This makes at most
+	 * one pass over the table, so it finishes even if the table is being changed
+	 * under an optimistic reader.
+	 *
+	 * @return The slot holding the key, or -1 if it isn't there
+	 */
+	private static <K> int indexOf(K[] keys, K key, int hash) {
+		int mask = keys.length - 1;
+		int i = hash & mask;
+		for (int probes = 0; probes < keys.length; probes++, i = (i + 1) & mask) {
+			K k = keys[i];
+			if (k == null)
+				return -1;
+			if (k.equals(key))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Double a segment's table, rehashing its keys. The caller holds the write
+	 * lock.
+	 */
+	private static <K, V> void grow(Segment<K, V> s) {
+		K[] oldKeys = s.keys;
+		V[] oldVals = s.vals;
+		s.allocate(oldKeys.length * 2);
+		int mask = s.keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] == null)
+				continue;
+			int i = spread(oldKeys[j]) & mask;
+			while (s.keys[i] != null)
+				i = (i + 1) & mask;
+			s.keys[i] = oldKeys[j];
+			s.vals[i] = oldVals[j];
+		}
+	}
+
+	/**
+	 * Return an iterator over this collection (remove() is unsupported). It
+	 * copies the keys of one segment at a time, under that segment's read lock,
+	 * so it never throws because of concurrent changes, and returns each key
+	 * that is in the map throughout the iteration exactly once.
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the next segment to copy
+			int segment = 0;
+
+			// the keys copied from the current segment, and the next to return
+			Object[] buffer = new Object[0];
+			int current = 0;
+
+			public boolean hasNext() {
+				while (true) {
+					while (current < buffer.length && buffer[current] == null)
+						current++;
+					if (current < buffer.length)
+						return true;
+					if (segment == segments.length)
+						return false;
+					Segment<K, V> s = segments[segment++];
+					long stamp = s.readLock();
+					try {
+						buffer = s.keys.clone();
+					} finally {
+						s.unlockRead(stamp);
+					}
+					current = 0;
+				}
+			}
+
+			@SuppressWarnings("unchecked")
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return (K) buffer[current++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		int hash = spread(key);
+		Segment<K, V> s = segmentFor(hash);
+		long stamp = s.writeLock();
+		try {
+			int mask = s.keys.length - 1;
+			int i;
+			for (i = hash & mask; s.keys[i] != null; i = (i + 1) & mask) {
+				if (s.keys[i].equals(key)) {
+					// key was already in the map, so just replace the value
+					s.vals[i] = val;
+					return;
+				}
+			}
+			s.keys[i] = key;
+			s.vals[i] = val;
+			s.size++;
+			if (s.size > s.threshold)
+				grow(s);
+		} finally {
+			s.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		int hash = spread(key);
+		Segment<K, V> s = segmentFor(hash);
+
+		long stamp = s.tryOptimisticRead();
+		if (stamp != 0) {
+			V val = null;
+			RuntimeException failure = null;
+			try {
+				K[] keys = s.keys;
+				V[] vals = s.vals;
+				int i = indexOf(keys, key, hash);
+				if (i >= 0)
+					val = vals[i];
+			} catch (RuntimeException e) {
+				// either we saw a table being replaced, and the validation will
+				// fail, or the key's equals() threw, which is the caller's to see
+				failure = e;
+			}
+			if (s.validate(stamp)) {
+				if (failure != null)
+					throw failure;
+				return val;
+			}
+		}
+
+		// a writer got in; search again under the read lock
+		stamp = s.readLock();
+		try {
+			int i = indexOf(s.keys, key, hash);
+			return i < 0 ? null : s.vals[i];
+		} finally {
+			s.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Test if this map contains an association for this key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		if (key == null)
+			return false;
+		int hash = spread(key);
+		Segment<K, V> s = segmentFor(hash);
+
+		long stamp = s.tryOptimisticRead();
+		if (stamp != 0) {
+			boolean found = false;
+			RuntimeException failure = null;
+			try {
+				found = indexOf(s.keys, key, hash) >= 0;
+			} catch (RuntimeException e) {
+				// as in get(), rethrown unless a writer got in
+				failure = e;
+			}
+			if (s.validate(stamp)) {
+				if (failure != null)
+					throw failure;
+				return found;
+			}
+		}
+
+		stamp = s.readLock();
+		try {
+			return indexOf(s.keys, key, hash) >= 0;
+		} finally {
+			s.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Remove the association for this key, if it exists.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		int hash = spread(key);
+		Segment<K, V> s = segmentFor(hash);
+		long stamp = s.writeLock();
+		try {
+			K[] keys = s.keys;
+			int hole = indexOf(keys, key, hash);
+			if (hole < 0)
+				return;
+
+			// pull back every later key of the run that may legally sit in the
+			// hole, as in HashMap
+			int mask = keys.length - 1;
+			for (int j = (hole + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+				int h = spread(keys[j]) & mask;
+				if (((j - h) & mask) >= ((j - hole) & mask)) {
+					keys[hole] = keys[j];
+					s.vals[hole] = s.vals[j];
+					hole = j;
+				}
+			}
+			keys[hole] = null;
+			s.vals[hole] = null;
+			s.size--;
+		} finally {
+			s.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Return the number of associations in this map. While other threads are
+	 * writing, this is only an estimate.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> s : segments)
+			size += s.size;
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + get(key);
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
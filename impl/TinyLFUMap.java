@@ -0,0 +1,456 @@
+package impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import adt.Map;
+
+/**
+ * TinyLFUMap
+ *
+ * Class to implement the Map ADT as a cache of bounded size using the W-TinyLFU
+ * policy, which keeps much more of a skewed workload than plain LRU does and
+ * isn't flushed out by scans. The entries are split into three LRU lists:
+ *
+ * - a small window (1% of the capacity) that every new key enters;
+ * - probation, where keys that leave the window wait to be used again;
+ * - protected (80% of the rest), where a key on probation goes when it is used.
+ *
+ * Alongside them is a count-min sketch that estimates how often each key has
+ * been asked for recently, whether or not it is in the cache. When the window
+ * overflows and the main region (probation plus protected) is full, the key
+ * leaving the window is admitted only if it has been asked for more often than
+ * the least recently used key on probation, which is evicted in its place;
+ * otherwise the key leaving the window is the one evicted. So a burst of keys
+ * that are each seen once passes through the window without displacing the
+ * keys that matter. The counts in the sketch are halved periodically, so that
+ * keys that were popular long ago lose their hold.
+ *
+ * Every get() and put() counts as an access of its key. containsKey() doesn't:
+ * it neither moves the entry nor touches the counts. As in LRUMap, hits,
+ * misses and evictions are counted, and an EvictionListener can be given.
+ *
+ * As with ArrayMap, get() returns null and remove() does nothing for keys that
+ * are not in the map, and null keys are ignored.
+ *
+ * CSCI 345, Wheaton College Spring 2016
+ *
+ * @param <K>
+ *            The key-type of the map
+ * @param <V>
+ *            The value-type of the map
+ */
+public class TinyLFUMap<K, V> implements Map<K, V> {
+
+	private static final int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+	/**
+	 * Class for the nodes of the three lists.
+	 */
+	private static class Node<K, V> {
+		K key;
+		V val;
+		int region;
+		Node<K, V> prev, next;
+
+		Node(K key, V val, int region) {
+			this.key = key;
+			this.val = val;
+			this.region = region;
+		}
+	}
+
+	/**
+	 * A count-min sketch of 4-bit counters, sixteen to a long. Each key has a
+	 * counter in each of four rows (chosen by four different hashes), and its
+	 * estimated frequency is the least of the four, which can only overestimate.
+	 * The counters stop at 15, and after 10 increments per long every counter is
+	 * halved. There is a long per entry of capacity, up to 2^24 of them.
+	 */
+	private static final class FrequencySketch {
+
+		private static final int[] SEEDS = { 0x97CB3127, 0xB71C71C7, 0xC4CEB9FE, 0x2C1B3C6D };
+
+		private final long[] table;
+		private final int sampleSize;
+		private int additions = 0;
+
+		FrequencySketch(int capacity) {
+			int length = 8;
+			while (length < capacity && length < 1 << 24)
+				length *= 2;
+			table = new long[length];
+			sampleSize = 10 * length;
+		}
+
+		private int hash(int h, int row) {
+			h = (h + SEEDS[row]) * 0x9E3779B9;
+			return h ^ (h >>> 15);
+		}
+
+		int frequency(int h) {
+			int min = 15;
+			for (int row = 0; row < 4; row++) {
+				int x = hash(h, row);
+				int shift = (x >>> 28) << 2;
+				min = Math.min(min, (int) ((table[x & (table.length - 1)] >>> shift) & 15));
+			}
+			return min;
+		}
+
+		void increment(int h) {
+			boolean added = false;
+			for (int row = 0; row < 4; row++) {
+				int x = hash(h, row);
+				int shift = (x >>> 28) << 2;
+				int i = x & (table.length - 1);
+				if (((table[i] >>> shift) & 15) < 15) {
+					table[i] += 1L << shift;
+					added = true;
+				}
+			}
+			if (added && ++additions == sampleSize)
+				age();
+		}
+
+		/**
+		 * Halve every counter.
+		 */
+		private void age() {
+			for (int i = 0; i < table.length; i++)
+				table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+			additions /= 2;
+		}
+	}
+
+	/**
+	 * The index from each key to its node.
+	 */
+	private final HashMap<K, Node<K, V>> index;
+
+	/**
+	 * The sentinels of the three circular lists, indexed by region; the node
+	 * after a sentinel is its list's most recently used.
+	 */
+	private final Node<K, V>[] lists;
+
+	/**
+	 * The number of entries in each region, and the most each may hold (the
+	 * probation limit is whatever of the main region protected isn't using).
+	 */
+	private final int[] sizes = new int[3];
+	private final int windowMax, protectedMax, mainMax;
+
+	private final FrequencySketch sketch;
+
+	private final int capacity;
+
+	/**
+	 * Who to tell about evictions, or null.
+	 */
+	private final LRUMap.EvictionListener<K, V> listener;
+
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Constructor that is given the most entries to hold.
+	 *
+	 * @param capacity
+	 *            The maximum number of associations
+	 */
+	public TinyLFUMap(int capacity) {
+		this(capacity, null);
+	}
+
+	/**
+	 * Constructor that is given the most entries to hold and a listener for
+	 * evictions.
+	 *
+	 * @param capacity
+	 *            The maximum number of associations
+	 * @param listener
+	 *            Who to tell about each evicted entry (or null)
+	 */
+	@SuppressWarnings("unchecked")
+	public TinyLFUMap(int capacity, LRUMap.EvictionListener<K, V> listener) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException();
+		this.capacity = capacity;
+		this.listener = listener;
+		windowMax = Math.max(1, capacity / 100);
+		mainMax = capacity - windowMax;
+		protectedMax = (int) (mainMax * 4L / 5);
+		index = new HashMap<K, Node<K, V>>();
+		sketch = new FrequencySketch(capacity);
+		lists = (Node<K, V>[]) new Node[3];
+		for (int region = 0; region < 3; region++) {
+			lists[region] = new Node<K, V>(null, null, region);
+			lists[region].prev = lists[region].next = lists[region];
+		}
+	}
+
+	private void unlink(Node<K, V> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		sizes[node.region]--;
+	}
+
+	private void linkFirst(int region, Node<K, V> node) {
+		Node<K, V> head = lists[region];
+		node.region = region;
+		node.prev = head;
+		node.next = head.next;
+		head.next.prev = node;
+		head.next = node;
+		sizes[region]++;
+	}
+
+	/**
+	 * The least recently used node of a region, or null if it is empty.
+	 */
+	private Node<K, V> eldest(int region) {
+		Node<K, V> head = lists[region];
+		return head.prev == head ? null : head.prev;
+	}
+
+	private void evict(Node<K, V> node) {
+		index.remove(node.key);
+		evictions++;
+		if (listener != null)
+			listener.evicted(node.key, node.val);
+	}
+
+	/**
+	 * Record a use of an entry that is in the cache: in the window or protected
+	 * it moves to the front, and on probation it is promoted to protected, whose
+	 * least recently used entry may be demoted to make room.
+	 */
+	private void touch(Node<K, V> node) {
+		unlink(node);
+		if (node.region == WINDOW) {
+			linkFirst(WINDOW, node);
+			return;
+		}
+		linkFirst(PROTECTED, node);
+		if (sizes[PROTECTED] > protectedMax) {
+			Node<K, V> demoted = eldest(PROTECTED);
+			unlink(demoted);
+			linkFirst(PROBATION, demoted);
+		}
+	}
+
+	/**
+	 * Move the window's least recently used entry into the main region, if it
+	 * wins its place there, once the window is over its size.
+	 */
+	private void admit() {
+		if (sizes[WINDOW] <= windowMax)
+			return;
+		Node<K, V> candidate = eldest(WINDOW);
+		unlink(candidate);
+		if (sizes[PROBATION] + sizes[PROTECTED] < mainMax) {
+			linkFirst(PROBATION, candidate);
+			return;
+		}
+		Node<K, V> victim = eldest(PROBATION);
+		if (victim != null && sketch.frequency(candidate.key.hashCode()) > sketch
+				.frequency(victim.key.hashCode())) {
+			unlink(victim);
+			evict(victim);
+			linkFirst(PROBATION, candidate);
+		} else
+			evict(candidate);
+	}
+
+	/**
+	 * Return an iterator over this collection, the window first, then probation,
+	 * then protected (remove() is unsupported, nor is concurrent modification
+	 * checked). Iterating doesn't count as using the entries.
+	 */
+	public Iterator<K> iterator() {
+		return new Iterator<K>() {
+
+			// the region being iterated, and the node whose key is next
+			int region = WINDOW;
+			Node<K, V> current = lists[WINDOW].next;
+
+			public boolean hasNext() {
+				while (current == lists[region]) {
+					if (region == PROTECTED)
+						return false;
+					region++;
+					current = lists[region].next;
+				}
+				return true;
+			}
+
+			public K next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				K key = current.key;
+				current = current.next;
+				return key;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Add an association to the map. A new key enters the window, which may push
+	 * another key out of the cache.
+	 *
+	 * @param key
+	 *            The key to this association
+	 * @param val
+	 *            The value to which this key is associated
+	 */
+	public void put(K key, V val) {
+		if (key == null)
+			return;
+		sketch.increment(key.hashCode());
+		Node<K, V> node = index.get(key);
+		if (node != null) {
+			// key was already in the map, so just replace the value
+			node.val = val;
+			touch(node);
+			return;
+		}
+		node = new Node<K, V>(key, val, WINDOW);
+		linkFirst(WINDOW, node);
+		index.put(key, node);
+		admit();
+	}
+
+	/**
+	 * Get the value for a key.
+	 *
+	 * @param key
+	 *            The key whose value we're retrieving.
+	 * @return The value associated with this key, null if none exists
+	 */
+	public V get(K key) {
+		if (key == null)
+			return null;
+		sketch.increment(key.hashCode());
+		Node<K, V> node = index.get(key);
+		if (node == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		touch(node);
+		return node.val;
+	}
+
+	/**
+	 * Test if this map contains an association for this key. This doesn't count
+	 * as an access of the key.
+	 *
+	 * @param key
+	 *            The key to test.
+	 * @return true if there is an association for this key, false otherwise
+	 */
+	public boolean containsKey(K key) {
+		return key != null && index.containsKey(key);
+	}
+
+	/**
+	 * Remove the association for this key, if it exists. This is not an
+	 * eviction, so the listener isn't told.
+	 *
+	 * @param key
+	 *            The key to remove
+	 */
+	public void remove(K key) {
+		if (key == null)
+			return;
+		Node<K, V> node = index.get(key);
+		if (node == null)
+			return;
+		unlink(node);
+		index.remove(key);
+	}
+
+	/**
+	 * Return the number of associations in this map.
+	 *
+	 * @return The number of associations in this map.
+	 */
+	public int size() {
+		return index.size();
+	}
+
+	/**
+	 * The most associations this map will hold.
+	 *
+	 * @return The capacity
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * The number of get() calls that found their key.
+	 *
+	 * @return The hit count
+	 */
+	public long hitCount() {
+		return hits;
+	}
+
+	/**
+	 * The number of get() calls that didn't find their key.
+	 *
+	 * @return The miss count
+	 */
+	public long missCount() {
+		return misses;
+	}
+
+	/**
+	 * The number of entries evicted, or turned away, to keep within capacity.
+	 *
+	 * @return The eviction count
+	 */
+	public long evictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * The fraction of get() calls that found their key (0 if there have been
+	 * none).
+	 *
+	 * @return The hit ratio
+	 */
+	public double hitRatio() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	/**
+	 * Set the hit, miss and eviction counts back to zero, for instance at the
+	 * start of each reporting period. The frequency sketch is unaffected.
+	 */
+	public void resetCounts() {
+		hits = misses = evictions = 0;
+	}
+
+	@Override
+	public String toString() {
+		String toReturn = "[";
+		boolean prefix = false;
+		for (K key : this) {
+			if (prefix)
+				toReturn += ", ";
+			toReturn += key + "=" + index.get(key).val;
+			prefix = true;
+		}
+		return toReturn + "]";
+	}
+
+}
@@ -0,0 +1,86 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.AdaptiveMap;
+
+public class ADTest extends MapStressTest {
+
+    @Override
+    protected void reset() {
+        testMap = new AdaptiveMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new AdaptiveMap<Integer, Integer>();
+    }
+
+    /* the map is hashed past the threshold, and goes back to an array only
+     * once it has shrunk to half of it */
+    @Test
+    public void promoteAndDemote() {
+        AdaptiveMap<Integer, Integer> test = new AdaptiveMap<Integer, Integer>(8);
+        for (int i = 0; i < 8; i++)
+            test.put(i, -i);
+        assertFalse(test.isHashed());
+        test.put(3, 3);
+        assertFalse(test.isHashed());
+        test.put(8, -8);
+        assertTrue(test.isHashed());
+        for (int i = 8; i > 4; i--) {
+            test.remove(i);
+            assertTrue(test.isHashed());
+        }
+        test.put(5, -5);
+        test.remove(5);
+        assertTrue(test.isHashed());
+        test.remove(4);
+        assertFalse(test.isHashed());
+        assertEquals(4, test.size());
+        assertEquals(Integer.valueOf(3), test.get(3));
+        for (int i = 0; i < 3; i++)
+            assertEquals(Integer.valueOf(-i), test.get(i));
+    }
+
+    /* compare against java.util.HashMap while the size wanders back and forth
+     * across the threshold */
+    @Test
+    public void randAroundThreshold() {
+        Random rand = new Random(345);
+        for (int threshold : new int[] { 2, 3, 8, 32 }) {
+            AdaptiveMap<Integer, Integer> test = new AdaptiveMap<Integer, Integer>(threshold);
+            HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+            for (int i = 0; i < 20000; i++) {
+                int key = rand.nextInt(3 * threshold);
+                if (rand.nextBoolean()) {
+                    test.remove(key);
+                    correctMap.remove(key);
+                } else {
+                    test.put(key, i);
+                    correctMap.put(key, i);
+                }
+                assertEquals(correctMap.size(), test.size());
+                if (correctMap.size() > threshold)
+                    assertTrue(test.isHashed());
+                if (correctMap.size() <= threshold / 2)
+                    assertFalse(test.isHashed());
+                int probe = rand.nextInt(3 * threshold);
+                assertEquals(correctMap.get(probe), test.get(probe));
+                assertEquals(correctMap.containsKey(probe), test.containsKey(probe));
+            }
+            HashSet<Integer> keys = new HashSet<Integer>();
+            for (Integer key : test)
+                assertTrue(keys.add(key));
+            assertEquals(correctMap.keySet(), keys);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.ArrayQueue;
+
+
+public class AQTest extends QueueTest {
+
+    protected void reset() {
+        testQueue = new ArrayQueue<String>();
+    }
+
+    protected void resetInt() {
+        testQueueInt = new ArrayQueue<Integer>(1);
+    }
+
+    /* a capacity beyond the longest power-of-two array is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new ArrayQueue<Integer>(Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+}
@@ -0,0 +1,51 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.AVLTreeMap;
+
+public class AVLTest extends SortedMapTest {
+
+    /* The largest map to measure */
+    private static final int MAXSIZE = 100000;
+
+    @Override
+    protected void reset() {
+        testMap = new AVLTreeMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new AVLTreeMap<Integer, Integer>();
+    }
+
+    @Test
+    public void stressTestProbes() {
+        CostReport report = new CostReport();
+        for (int size = 10; size <= MAXSIZE; size *= 10) {
+            // an AVL tree is less than 1.4405 lg(n+2) high
+            double height = 1.4405 * Math.log(size + 2) / Math.log(2);
+            // sorted insertion is the worst case for an unbalanced tree
+            AVLTreeMap<ProbeKey, Integer> test = new AVLTreeMap<ProbeKey, Integer>();
+            for (int j = 0; j < size; j++)
+                test.put(new ProbeKey(j), j);
+            report.skip();
+            for (int j = 0; j < size; j++) {
+                test.get(new ProbeKey(rand.nextInt(size)));
+                report.sample("get", size);
+                test.containsKey(new ProbeKey(size + rand.nextInt(size)));
+                report.sample("containsKey miss", size);
+                test.ceilingKey(new ProbeKey(rand.nextInt(size)));
+                report.sample("ceilingKey", size);
+            }
+            assertTrue("get() should make at most height comparisons",
+                    report.maxCallsPerOp("get") <= height);
+            assertTrue("containsKey() should make at most height comparisons",
+                    report.maxCallsPerOp("containsKey miss") <= height);
+            assertTrue("ceilingKey() should make at most height comparisons",
+                    report.maxCallsPerOp("ceilingKey") <= height);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import impl.BPlusTreeMap;
+
+public class BPTest extends SortedMapTest {
+
+    @Override
+    protected void reset() {
+        testMap = new BPlusTreeMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new BPlusTreeMap<Integer, Integer>();
+    }
+
+    /* compare everything against java.util.TreeMap under random churn */
+    private static void churn(BPlusTreeMap<Integer, Integer> test, TreeMap<Integer, Integer> correctMap,
+            int range, int ops, long seed) {
+        Random rand = new Random(seed);
+        for (int i = 0; i < ops; i++) {
+            int key = rand.nextInt(range);
+            if (rand.nextInt(2) == 0) {
+                test.remove(key);
+                correctMap.remove(key);
+            } else {
+                test.put(key, i);
+                correctMap.put(key, i);
+            }
+            int probe = rand.nextInt(range + 20) - 10;
+            assertEquals(correctMap.get(probe), test.get(probe));
+            assertEquals(correctMap.floorKey(probe), test.floorKey(probe));
+            assertEquals(correctMap.ceilingKey(probe), test.ceilingKey(probe));
+        }
+        assertEquals(correctMap.size(), test.size());
+        Iterator<Integer> expected = correctMap.keySet().iterator();
+        for (Integer key : test)
+            assertEquals(expected.next(), key);
+        assertFalse(expected.hasNext());
+    }
+
+    /* with small nodes the tree is several levels deep, so every kind of split,
+     * borrow and merge happens, down to an empty tree and back */
+    @Test
+    public void smallNodes() {
+        BPlusTreeMap<Integer, Integer> test = new BPlusTreeMap<Integer, Integer>(4);
+        TreeMap<Integer, Integer> correctMap = new TreeMap<Integer, Integer>();
+        churn(test, correctMap, 3000, 60000, 345);
+        for (int key = 0; key < 3000; key++) {
+            test.remove(key);
+            correctMap.remove(key);
+        }
+        assertEquals(0, test.size());
+        assertEquals(null, test.firstKey());
+        assertEquals(null, test.lastKey());
+        churn(test, correctMap, 300, 5000, 346);
+    }
+
+    /* ascending and descending insertion only ever split one edge of the tree */
+    @Test
+    public void monotonic() {
+        BPlusTreeMap<Integer, Integer> test = new BPlusTreeMap<Integer, Integer>(5);
+        for (int i = 0; i < 10000; i++)
+            test.put(i, i);
+        for (int i = -1; i >= -10000; i--)
+            test.put(i, i);
+        assertEquals(20000, test.size());
+        assertEquals(Integer.valueOf(-10000), test.firstKey());
+        assertEquals(Integer.valueOf(9999), test.lastKey());
+        int expected = -10000;
+        for (Integer key : test)
+            assertEquals(Integer.valueOf(expected++), key);
+        for (int i = -10000; i < 10000; i += 2)
+            test.remove(i);
+        assertEquals(10000, test.size());
+        expected = -9999;
+        for (Integer key : test.subMap(-10000, 10000)) {
+            assertEquals(Integer.valueOf(expected), key);
+            expected += 2;
+        }
+    }
+
+    /* a bulk-loaded tree holds the same as one built by put(), and stays
+     * correct when it is changed afterwards */
+    @Test
+    public void bulkLoad() {
+        for (int n : new int[] { 0, 1, 63, 64, 65, 129, 4160, 100000 }) {
+            Integer[] keys = new Integer[n];
+            Integer[] vals = new Integer[n];
+            TreeMap<Integer, Integer> correctMap = new TreeMap<Integer, Integer>();
+            for (int i = 0; i < n; i++) {
+                keys[i] = 2 * i;
+                vals[i] = -i;
+                correctMap.put(2 * i, -i);
+            }
+            BPlusTreeMap<Integer, Integer> test = new BPlusTreeMap<Integer, Integer>(keys, vals);
+            assertEquals(n, test.size());
+            Iterator<Integer> expected = correctMap.keySet().iterator();
+            for (Integer key : test)
+                assertEquals(expected.next(), key);
+            assertFalse(expected.hasNext());
+            for (int i = 0; i < n; i++)
+                assertEquals(Integer.valueOf(-i), test.get(2 * i));
+            churn(test, correctMap, 2 * n + 1, 20000, n);
+        }
+    }
+
+    /* the keys given to the bulk-loading constructor must be strictly
+     * ascending */
+    @Test
+    public void bulkLoadUnsorted() {
+        for (Integer[] keys : new Integer[][] { { 1, 3, 2 }, { 1, 2, 2 } }) {
+            boolean caught = false;
+            try {
+                new BPlusTreeMap<Integer, Integer>(keys, keys);
+            } catch (IllegalArgumentException iae) {
+                caught = true;
+            }
+            assertTrue(caught);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import adt.FullContainerException;
+import impl.BoundedQueue;
+
+
+public class BQTest extends QueueTest {
+
+    protected void reset() {
+        testQueue = new BoundedQueue<String>(7);
+    }
+
+    protected void resetInt() {
+        testQueueInt = new BoundedQueue<Integer>(500);
+    }
+
+    /* a full queue rejects enqueue() with FullContainerException and is left
+     * as it was; after one remove() there is room for exactly one more */
+    @Test
+    public void fullRejectsEnqueue() {
+        BoundedQueue<Integer> test = new BoundedQueue<Integer>(5);
+        // start part way round the array, so the full queue wraps
+        test.enqueue(-1);
+        test.enqueue(-2);
+        test.remove();
+        test.remove();
+        for (int i = 0; i < 5; i++) {
+            assertFalse(test.isFull());
+            test.enqueue(i);
+        }
+        assertTrue(test.isFull());
+
+        boolean caught = false;
+        try {
+            test.enqueue(5);
+        } catch (FullContainerException fce) {
+            caught = true;
+        }
+        assertTrue(caught);
+        assertTrue(test.isFull());
+        assertEquals("[0, 1, 2, 3, 4]", test.toString());
+        assertEquals(Integer.valueOf(0), test.front());
+
+        assertEquals(Integer.valueOf(0), test.remove());
+        assertFalse(test.isFull());
+        test.enqueue(5);
+        assertTrue(test.isFull());
+        for (int i = 1; i <= 5; i++)
+            assertEquals(Integer.valueOf(i), test.remove());
+        assertTrue(test.isEmpty());
+    }
+}
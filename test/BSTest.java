@@ -0,0 +1,55 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import adt.FullContainerException;
+import impl.BoundedStack;
+
+
+public class BSTest extends StackTest {
+
+    protected void reset() {
+        testStack = new BoundedStack<String>(7);
+    }
+    protected void resetInt() {
+        testStackInt = new BoundedStack<Integer>(500);
+    }
+
+    /* a full stack rejects push() with FullContainerException and is left as
+     * it was; after one pop() there is room for exactly one more */
+    @Test
+    public void fullRejectsPush() {
+        BoundedStack<Integer> test = new BoundedStack<Integer>(5);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(test.isFull());
+            test.push(i);
+        }
+        assertTrue(test.isFull());
+
+        boolean caught = false;
+        try {
+            test.push(5);
+        } catch (FullContainerException fce) {
+            caught = true;
+        }
+        assertTrue(caught);
+        assertTrue(test.isFull());
+        assertEquals("[4, 3, 2, 1, 0]", test.toString());
+        assertEquals(Integer.valueOf(4), test.top());
+
+        assertEquals(Integer.valueOf(4), test.pop());
+        assertFalse(test.isFull());
+        test.push(5);
+        assertTrue(test.isFull());
+        assertEquals(Integer.valueOf(5), test.pop());
+        for (int i = 3; i >= 0; i--)
+            assertEquals(Integer.valueOf(i), test.pop());
+        assertTrue(test.isEmpty());
+    }
+
+
+}
@@ -0,0 +1,86 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.CompactArrayMap;
+
+public class CAMTest extends MapStressTest {
+
+    @Override
+    protected void reset() {
+        testMap = new CompactArrayMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new CompactArrayMap<Integer, Integer>();
+    }
+
+    /* the cached hashes mean equals() is called only on the key itself, and
+     * hashCode() once per operation */
+    @Test
+    public void cachedHashes() {
+        CompactArrayMap<ProbeKey, Integer> test = new CompactArrayMap<ProbeKey, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            Probe.reset();
+            test.put(new ProbeKey(i), i);
+            assertEquals(0, Probe.equalsCalls());
+            assertEquals(1, Probe.hashCodeCalls());
+        }
+        for (int i = 0; i < 1000; i++) {
+            Probe.reset();
+            assertEquals(Integer.valueOf(i), test.get(new ProbeKey(i)));
+            assertEquals(1, Probe.equalsCalls());
+            assertEquals(1, Probe.hashCodeCalls());
+        }
+        Probe.reset();
+        assertFalse(test.containsKey(new ProbeKey(1000)));
+        assertEquals(0, Probe.equalsCalls());
+    }
+
+    /* keys whose hashes all collide are told apart by equals() */
+    @Test
+    public void identicalHashes() {
+        CompactArrayMap<ProbeKey, Integer> test = new CompactArrayMap<ProbeKey, Integer>(2);
+        for (int i = 0; i < 100; i++)
+            test.put(new ProbeKey(i, 42), i);
+        for (int i = 0; i < 100; i += 2)
+            test.remove(new ProbeKey(i, 42));
+        assertEquals(50, test.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), test.get(new ProbeKey(i, 42)));
+    }
+
+    /* compare against java.util.HashMap under random churn */
+    @Test
+    public void randAgainstHashMap() {
+        CompactArrayMap<Integer, Integer> test = new CompactArrayMap<Integer, Integer>(0);
+        HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+        Random rand = new Random(345);
+        for (int i = 0; i < 20000; i++) {
+            int key = rand.nextInt(200);
+            if (rand.nextInt(3) == 0) {
+                test.remove(key);
+                correctMap.remove(key);
+            } else {
+                test.put(key, i);
+                correctMap.put(key, i);
+            }
+            int probe = rand.nextInt(200);
+            assertEquals(correctMap.get(probe), test.get(probe));
+        }
+        assertEquals(correctMap.size(), test.size());
+        HashSet<Integer> keys = new HashSet<Integer>();
+        for (Integer key : test)
+            assertTrue(keys.add(key));
+        assertEquals(correctMap.keySet(), keys);
+    }
+
+}
@@ -0,0 +1,70 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.CuckooMap;
+
+public class CMTest extends MapStressTest {
+
+    /* The largest map to measure */
+    private static final int MAXSIZE = 100000;
+
+    @Override
+    protected void reset() {
+        testMap = new CuckooMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new CuckooMap<Integer, Integer>();
+    }
+
+    /* two buckets of four slots plus a stash of four, at most */
+    @Test
+    public void stressTestProbes() {
+        CostReport report = new CostReport();
+        for (int size = 10; size <= MAXSIZE; size *= 10) {
+            CuckooMap<ProbeKey, Integer> test = new CuckooMap<ProbeKey, Integer>();
+            for (int j = 0; j < size; j++)
+                test.put(new ProbeKey(j), j);
+            report.skip();
+            for (int j = 0; j < size; j++) {
+                test.get(new ProbeKey(rand.nextInt(size)));
+                report.sample("get", size);
+                test.get(new ProbeKey(size + rand.nextInt(size)));
+                report.sample("get miss", size);
+                test.remove(new ProbeKey(j));
+                report.sample("remove", size);
+            }
+            assertEquals(0, test.size());
+        }
+        // one hashCode() call, then equals() against at most the stash
+        // (a slot's equals() is only called when its cached hash matches)
+        assertTrue(report.toString(), report.maxCallsPerOp("get") <= 1 + 8 + 4);
+        assertTrue(report.toString(), report.maxCallsPerOp("get miss") <= 1 + 8 + 4);
+        assertTrue(report.toString(), report.maxCallsPerOp("remove") <= 1 + 8 + 4);
+    }
+
+    /* more keys share a hash code than both buckets can hold */
+    @Test
+    public void identicalHashes() {
+        CuckooMap<ProbeKey, Integer> test = new CuckooMap<ProbeKey, Integer>();
+        for (int j = 0; j < 100; j++) {
+            test.put(new ProbeKey(j, 42), j);
+            test.put(new ProbeKey(1000 + j), j);
+        }
+        assertEquals(200, test.size());
+        for (int j = 0; j < 100; j++) {
+            assertEquals(Integer.valueOf(j), test.get(new ProbeKey(j, 42)));
+            assertEquals(Integer.valueOf(j), test.get(new ProbeKey(1000 + j)));
+        }
+        for (int j = 0; j < 100; j += 2)
+            test.remove(new ProbeKey(j, 42));
+        assertEquals(150, test.size());
+        for (int j = 0; j < 100; j++)
+            assertEquals(j % 2 == 0 ? null : Integer.valueOf(j), test.get(new ProbeKey(j, 42)));
+    }
+
+}
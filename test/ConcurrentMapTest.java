@@ -0,0 +1,136 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import adt.Map;
+
+/* tests for maps that many threads may use at once; testMapInt is shared
+ * between the threads */
+public abstract class ConcurrentMapTest extends MapStressTest {
+
+    protected static final int THREADS = 8;
+
+    /* start one thread per task, and rethrow the first failure */
+    protected static void runAll(Runnable[] tasks) throws Throwable {
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        ArrayList<Thread> threads = new ArrayList<Thread>();
+        for (final Runnable task : tasks) {
+            Thread t = new Thread() {
+                public void run() {
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads)
+            t.join();
+        if (failure.get() != null)
+            throw failure.get();
+    }
+
+    /* threads put disjoint ranges of keys, then remove half of them */
+    @Test
+    public void concurrentPutRemove() throws Throwable {
+        resetInteger();
+        final Map<Integer, Integer> test = testMapInt;
+        final int perThread = 20000;
+        Runnable[] tasks = new Runnable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int base = t * perThread;
+            tasks[t] = new Runnable() {
+                public void run() {
+                    for (int i = base; i < base + perThread; i++)
+                        test.put(i, i * 3);
+                    for (int i = base; i < base + perThread; i += 2)
+                        test.remove(i);
+                }
+            };
+        }
+        runAll(tasks);
+
+        assertEquals(THREADS * perThread / 2, test.size());
+        HashSet<Integer> seen = new HashSet<Integer>();
+        for (Integer key : test) {
+            assertTrue(key % 2 == 1);
+            assertTrue(seen.add(key));
+        }
+        assertEquals(THREADS * perThread / 2, seen.size());
+        for (int i = 0; i < THREADS * perThread; i++)
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i * 3), test.get(i));
+    }
+
+    /* readers racing with writers (and table growth) must only ever see a
+     * key's own value or nothing */
+    @Test
+    public void readersDuringWrites() throws Throwable {
+        resetInteger();
+        final Map<Integer, Integer> test = testMapInt;
+        final int keys = 50000;
+        Runnable[] tasks = new Runnable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            tasks[t] = new Runnable() {
+                public void run() {
+                    for (int round = 0; round < 3; round++) {
+                        for (int i = id; i < keys; i += THREADS) {
+                            if (id % 2 == 0) {
+                                test.put(i, -i);
+                                if (round == 1)
+                                    test.remove(i);
+                            } else {
+                                Integer val = test.get(i - 1);
+                                assertTrue(val == null || val == -(i - 1));
+                            }
+                        }
+                    }
+                }
+            };
+        }
+        runAll(tasks);
+        for (int i = 0; i < keys; i++)
+            assertEquals(i % THREADS % 2 == 0 ? Integer.valueOf(-i) : null, test.get(i));
+    }
+
+    /* every thread overwrites the same few keys; none may be lost or doubled */
+    @Test
+    public void contendedKeys() throws Throwable {
+        resetInteger();
+        final Map<Integer, Integer> test = testMapInt;
+        Runnable[] tasks = new Runnable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            tasks[t] = new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 100000; i++) {
+                        int key = i % 64;
+                        if (i % 3 == 0)
+                            test.remove(key);
+                        else
+                            test.put(key, id);
+                    }
+                }
+            };
+        }
+        runAll(tasks);
+        int count = 0;
+        for (Integer key : test) {
+            assertTrue(key >= 0 && key < 64);
+            assertTrue(test.get(key) >= 0 && test.get(key) < THREADS);
+            count++;
+        }
+        assertEquals(count, test.size());
+    }
+
+}
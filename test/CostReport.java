@@ -0,0 +1,106 @@
+package test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Calls-per-operation figures gathered with Probe. After each operation
+ * (or batch of operations) of some kind at some data size, a test calls
+ * sample(); the report adds up the calls the current thread made since
+ * the last sample and resets its counters. The averages and maxima can
+ * then be checked against the asymptotic bound for the implementation,
+ * and toString() gives a table with a row per operation and a column
+ * per size.
+ */
+public class CostReport {
+
+    /* per operation, per size: { operations, total calls, max calls } */
+    private final Map<String, TreeMap<Integer, long[]>> samples =
+            new TreeMap<String, TreeMap<Integer, long[]>>();
+
+    public CostReport() {
+        Probe.reset();
+    }
+
+    /**
+     * Record one operation.
+     * @param operation The kind of operation, e.g. "get"
+     * @param size The number of items in the collection
+     */
+    public void sample(String operation, int size) {
+        sample(operation, size, 1);
+    }
+
+    /**
+     * Record a batch of operations, all of one kind.
+     * @param operation The kind of operation, e.g. "get"
+     * @param size The number of items in the collection
+     * @param operations The number of operations in the batch
+     */
+    public void sample(String operation, int size, int operations) {
+        long calls = Probe.totalCalls();
+        Probe.reset();
+        TreeMap<Integer, long[]> bySize = samples.get(operation);
+        if (bySize == null) {
+            bySize = new TreeMap<Integer, long[]>();
+            samples.put(operation, bySize);
+        }
+        long[] s = bySize.get(size);
+        if (s == null) {
+            s = new long[3];
+            bySize.put(size, s);
+        }
+        s[0] += operations;
+        s[1] += calls;
+        s[2] = Math.max(s[2], (calls + operations - 1) / operations);
+    }
+
+    /**
+     * Throw away the calls made since the last sample, e.g. by setup code.
+     */
+    public void skip() {
+        Probe.reset();
+    }
+
+    /**
+     * The mean number of calls per operation of a kind at a size.
+     */
+    public double callsPerOp(String operation, int size) {
+        long[] s = samples.get(operation).get(size);
+        return (double) s[1] / s[0];
+    }
+
+    /**
+     * The largest number of calls made by any one sample of a kind of
+     * operation, over all sizes (divided by the batch size for batches).
+     */
+    public long maxCallsPerOp(String operation) {
+        long max = 0;
+        for (long[] s : samples.get(operation).values())
+            max = Math.max(max, s[2]);
+        return max;
+    }
+
+    /**
+     * The largest mean number of calls per operation of a kind, over all sizes.
+     */
+    public double maxMeanCallsPerOp(String operation) {
+        double max = 0;
+        for (Integer size : samples.get(operation).keySet())
+            max = Math.max(max, callsPerOp(operation, size));
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, TreeMap<Integer, long[]>> op : samples.entrySet()) {
+            sb.append(op.getKey());
+            for (Map.Entry<Integer, long[]> s : op.getValue().entrySet())
+                sb.append(String.format("  n=%d: %.2f", s.getKey(),
+                        (double) s.getValue()[1] / s.getValue()[0]));
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
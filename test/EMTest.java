@@ -0,0 +1,138 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import impl.ExpiringMap;
+
+public class EMTest extends MapStressTest {
+
+    /* a clock that only moves when the test moves it */
+    private static class ManualClock implements ExpiringMap.Clock {
+        long now = -1000;
+
+        public long nanoTime() {
+            return now;
+        }
+
+        void advance(long amount, TimeUnit unit) {
+            now += unit.toNanos(amount);
+        }
+    }
+
+    @Override
+    protected void reset() {
+        testMap = new ExpiringMap<String, String>(1, TimeUnit.HOURS, new ManualClock());
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new ExpiringMap<Integer, Integer>(1, TimeUnit.HOURS, new ManualClock());
+    }
+
+    @Test
+    public void expiry() {
+        ManualClock clock = new ManualClock();
+        ExpiringMap<String, String> test = new ExpiringMap<String, String>(10, TimeUnit.SECONDS, clock);
+        test.put("Kansas", "Topeka");
+        clock.advance(5, TimeUnit.SECONDS);
+        test.put("Nebraska", "Lincoln");
+        clock.advance(5, TimeUnit.SECONDS);
+        clock.advance(-1, TimeUnit.NANOSECONDS);
+        assertEquals("Topeka", test.get("Kansas"));
+        clock.advance(1, TimeUnit.NANOSECONDS);
+        assertEquals(null, test.get("Kansas"));
+        assertFalse(test.containsKey("Kansas"));
+        assertTrue(test.containsKey("Nebraska"));
+        assertEquals(1, test.size());
+        clock.advance(5, TimeUnit.SECONDS);
+        assertEquals(null, test.get("Nebraska"));
+        assertEquals(0, test.size());
+        assertFalse(test.iterator().hasNext());
+    }
+
+    /* putting a key again resets its expiry; per-entry ttls override the
+     * default */
+    @Test
+    public void refreshAndCustomTtl() {
+        ManualClock clock = new ManualClock();
+        ExpiringMap<String, String> test = new ExpiringMap<String, String>(10, TimeUnit.SECONDS, clock);
+        test.put("Kansas", "Topeka");
+        test.put("Iowa", "Des Moines", 3, TimeUnit.DAYS);
+        test.put("Ohio", "Columbus", 0, TimeUnit.SECONDS);
+        assertFalse(test.containsKey("Ohio"));
+        clock.advance(8, TimeUnit.SECONDS);
+        test.put("Kansas", "Wichita");
+        clock.advance(8, TimeUnit.SECONDS);
+        assertEquals("Wichita", test.get("Kansas"));
+        clock.advance(2, TimeUnit.DAYS);
+        assertEquals(null, test.get("Kansas"));
+        assertEquals("Des Moines", test.get("Iowa"));
+        clock.advance(1, TimeUnit.DAYS);
+        assertEquals(0, test.size());
+    }
+
+    /* entries are dropped by the wheel without being looked up */
+    @Test
+    public void expiredEntriesAreDropped() {
+        ManualClock clock = new ManualClock();
+        ExpiringMap<Integer, Integer> test = new ExpiringMap<Integer, Integer>(1, TimeUnit.MINUTES, clock);
+        for (int i = 0; i < 10000; i++) {
+            test.put(i, i, i + 1, TimeUnit.SECONDS);
+        }
+        for (int s = 1; s <= 10000; s += 7) {
+            clock.advance(7, TimeUnit.SECONDS);
+            assertEquals(Math.max(0, 10000 - (s + 6)), test.size());
+        }
+    }
+
+    /* compare against a model that records each key's expiry, with time
+     * moving in jumps of many sizes */
+    @Test
+    public void randAgainstModel() {
+        ManualClock clock = new ManualClock();
+        ExpiringMap<Integer, Integer> test = new ExpiringMap<Integer, Integer>(1, TimeUnit.SECONDS, clock);
+        HashMap<Integer, Integer> vals = new HashMap<Integer, Integer>();
+        HashMap<Integer, Long> expiry = new HashMap<Integer, Long>();
+        Random rand = new Random(345);
+        long[] ttls = { 1, 1000, 1000000, 1000000000, 60000000000L, 86400000000000L };
+        for (int i = 0; i < 200000; i++) {
+            int key = rand.nextInt(500);
+            switch (rand.nextInt(5)) {
+            case 0:
+                long ttl = ttls[rand.nextInt(ttls.length)] * (1 + rand.nextInt(100));
+                test.put(key, i, ttl, TimeUnit.NANOSECONDS);
+                vals.put(key, i);
+                expiry.put(key, clock.now + ttl);
+                break;
+            case 1:
+                test.remove(key);
+                vals.remove(key);
+                break;
+            case 2:
+                clock.advance(ttls[rand.nextInt(ttls.length)] * rand.nextInt(3), TimeUnit.NANOSECONDS);
+                break;
+            default:
+                Integer expected = vals.containsKey(key) && expiry.get(key) > clock.now ? vals.get(key) : null;
+                assertEquals(expected, test.get(key));
+            }
+        }
+        int live = 0;
+        for (Integer key : vals.keySet())
+            if (expiry.get(key) > clock.now)
+                live++;
+        int count = 0;
+        for (Integer key : test) {
+            assertTrue(expiry.get(key) > clock.now);
+            count++;
+        }
+        assertEquals(live, count);
+    }
+
+}
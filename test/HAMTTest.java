@@ -0,0 +1,169 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.HAMTMap;
+
+public class HAMTTest extends MapStressTest {
+
+    @Override
+    protected void reset() {
+        testMap = new HAMTMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new HAMTMap<Integer, Integer>();
+    }
+
+    /* check a version against the contents it should have */
+    private static <K, V> void check(HashMap<K, V> expected, HAMTMap<K, V> version) {
+        assertEquals(expected.size(), version.size());
+        for (K key : expected.keySet()) {
+            assertTrue(version.containsKey(key));
+            assertEquals(expected.get(key), version.get(key));
+        }
+        HashSet<K> seen = new HashSet<K>();
+        for (K key : version) {
+            assertTrue(expected.containsKey(key));
+            assertTrue(seen.add(key));
+        }
+        assertEquals(expected.size(), seen.size());
+    }
+
+    @Test
+    public void withAndWithout() {
+        HAMTMap<String, String> empty = new HAMTMap<String, String>();
+        HAMTMap<String, String> one = empty.with("Kansas", "Topeka");
+        HAMTMap<String, String> two = one.with("Iowa", "Des Moines");
+        HAMTMap<String, String> changed = two.with("Kansas", "Wichita");
+        HAMTMap<String, String> less = changed.without("Iowa");
+        assertEquals(0, empty.size());
+        assertFalse(empty.containsKey("Kansas"));
+        assertEquals("Topeka", one.get("Kansas"));
+        assertFalse(one.containsKey("Iowa"));
+        assertEquals("Topeka", two.get("Kansas"));
+        assertEquals("Des Moines", two.get("Iowa"));
+        assertEquals("Wichita", changed.get("Kansas"));
+        assertEquals(1, less.size());
+        assertEquals(2, changed.size());
+        assertEquals(1, less.without("Ohio").size());
+    }
+
+    /* every version made along a random run of updates keeps its contents */
+    @Test
+    public void randVersions() {
+        Random rand = new Random(345);
+        ArrayList<HashMap<Integer, Integer>> expected = new ArrayList<HashMap<Integer, Integer>>();
+        ArrayList<HAMTMap<Integer, Integer>> versions = new ArrayList<HAMTMap<Integer, Integer>>();
+        HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+        HAMTMap<Integer, Integer> test = new HAMTMap<Integer, Integer>();
+        for (int i = 0; i < 50000; i++) {
+            int key = rand.nextInt(5000);
+            if (rand.nextInt(3) == 0) {
+                test = test.without(key);
+                correctMap.remove(key);
+            } else {
+                test = test.with(key, i);
+                correctMap.put(key, i);
+            }
+            if (i % 1000 == 0) {
+                versions.add(test);
+                expected.add(new HashMap<Integer, Integer>(correctMap));
+            }
+        }
+        for (int v = 0; v < versions.size(); v++)
+            check(expected.get(v), versions.get(v));
+        check(correctMap, test);
+    }
+
+    /* snapshots, also taken in the middle of a batch, don't see later updates */
+    @Test
+    public void snapshotsDuringBatch() {
+        Random rand = new Random(345);
+        HAMTMap<Integer, Integer> test = new HAMTMap<Integer, Integer>();
+        HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+        ArrayList<HashMap<Integer, Integer>> expected = new ArrayList<HashMap<Integer, Integer>>();
+        ArrayList<HAMTMap<Integer, Integer>> snapshots = new ArrayList<HAMTMap<Integer, Integer>>();
+        test.beginBatch();
+        for (int i = 0; i < 100000; i++) {
+            int key = rand.nextInt(20000);
+            if (rand.nextInt(4) == 0) {
+                test.remove(key);
+                correctMap.remove(key);
+            } else {
+                test.put(key, i);
+                correctMap.put(key, i);
+            }
+            if (i % 7000 == 0) {
+                snapshots.add(test.snapshot());
+                expected.add(new HashMap<Integer, Integer>(correctMap));
+            }
+            if (i == 60000)
+                test.endBatch();
+        }
+        for (int v = 0; v < snapshots.size(); v++)
+            check(expected.get(v), snapshots.get(v));
+        check(correctMap, test);
+    }
+
+    /* the iterator runs over the version it started on */
+    @Test
+    public void iteratorIsStable() {
+        HAMTMap<Integer, Integer> test = new HAMTMap<Integer, Integer>();
+        test.beginBatch();
+        for (int i = 0; i < 1000; i++)
+            test.put(i, i);
+        Iterator<Integer> it = test.iterator();
+        for (int i = 0; i < 1000; i++)
+            test.put(i, -i);
+        for (int i = 0; i < 1000; i += 2)
+            test.remove(i);
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        assertEquals(1000, count);
+        assertEquals(500, test.size());
+        assertEquals(Integer.valueOf(-1), test.get(1));
+    }
+
+    /* keys with identical hash codes share a collision node */
+    @Test
+    public void identicalHashes() {
+        HAMTMap<ProbeKey, Integer> test = new HAMTMap<ProbeKey, Integer>();
+        HashMap<ProbeKey, Integer> correctMap = new HashMap<ProbeKey, Integer>();
+        HAMTMap<ProbeKey, Integer> before = null;
+        for (int i = 0; i < 100; i++) {
+            ProbeKey key = new ProbeKey(i, i % 3);
+            test.put(key, i);
+            correctMap.put(key, i);
+            if (i == 50)
+                before = test.snapshot();
+        }
+        HashMap<ProbeKey, Integer> beforeMap = new HashMap<ProbeKey, Integer>();
+        for (int i = 0; i <= 50; i++)
+            beforeMap.put(new ProbeKey(i, i % 3), i);
+        for (int i = 0; i < 100; i += 2) {
+            test.remove(new ProbeKey(i, i % 3));
+            correctMap.remove(new ProbeKey(i, i % 3));
+        }
+        check(correctMap, test);
+        check(beforeMap, before);
+        for (int i = 1; i < 100; i += 2)
+            test.remove(new ProbeKey(i, i % 3));
+        assertEquals(0, test.size());
+        assertFalse(test.iterator().hasNext());
+    }
+
+}
@@ -0,0 +1,14 @@
+package test;
+
+import impl.HashBag;
+
+public class HBTest extends BagTest {
+
+    protected void reset() {
+        testBag = new HashBag<String>();
+    }
+    protected void resetInt() {
+        testBagInt = new HashBag<Integer>();
+    }
+
+}
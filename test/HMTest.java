@@ -0,0 +1,63 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.HashMap;
+
+public class HMTest extends MapStressTest {
+
+    /* The largest map to measure */
+    private static final int MAXSIZE = 100000;
+
+    @Override
+    protected void reset() {
+        testMap = new HashMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new HashMap<Integer, Integer>();
+    }
+
+    @Test
+    public void stressTestProbes() {
+        CostReport report = new CostReport();
+        for (int size = 10; size <= MAXSIZE; size *= 10) {
+            HashMap<ProbeKey, Integer> test = new HashMap<ProbeKey, Integer>();
+            for (int j = 0; j < size; j++) {
+                test.put(new ProbeKey(j), j);
+                report.sample("put", size);
+            }
+            for (int j = 0; j < size; j++) {
+                test.get(new ProbeKey(rand.nextInt(size)));
+                report.sample("get", size);
+                test.get(new ProbeKey(size + rand.nextInt(size)));
+                report.sample("get miss", size);
+            }
+            for (int j = 0; j < size; j++) {
+                test.remove(new ProbeKey(j));
+                report.sample("remove", size);
+            }
+        }
+        // the cost per operation must not grow with the size of the map
+        assertTrue(report.toString(), report.maxMeanCallsPerOp("put") <= 10);
+        assertTrue(report.toString(), report.maxMeanCallsPerOp("get") <= 4);
+        assertTrue(report.toString(), report.maxMeanCallsPerOp("get miss") <= 6);
+        assertTrue(report.toString(), report.maxMeanCallsPerOp("remove") <= 6);
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new HashMap<Integer, Integer>(Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+}
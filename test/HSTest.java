@@ -0,0 +1,31 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.HashSet;
+
+public class HSTest extends SetTest {
+
+    protected void reset() {
+        testSet = new HashSet<String>();
+    }
+    protected void resetInt() {
+        testSetInt = new HashSet<Integer>();
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new HashSet<Integer>(Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+}
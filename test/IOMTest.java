@@ -0,0 +1,106 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.IntObjectMap;
+
+/* tests for IntObjectMap, which MapList only uses with dense keys */
+public class IOMTest {
+
+    /* the home slot of a key in a table of 16, as IntObjectMap.home()
+     * computes it */
+    private static int home16(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & 15;
+    }
+
+    /* keys (none of them 0) whose home slot in a table of 16 is the given one */
+    private static ArrayList<Integer> keysWithHome(int slot, int count) {
+        ArrayList<Integer> keys = new ArrayList<Integer>();
+        for (int key = -1; keys.size() < count; key--)
+            if (home16(key) == slot)
+                keys.add(key);
+        return keys;
+    }
+
+    /* removing from a run of colliding keys that wraps past the end of the
+     * table pulls the later keys back across the wrap */
+    @Test
+    public void removeAcrossWrap() {
+        // the last slot, so a run of five fills slots 15, 0, 1, 2 and 3; the
+        // default table has 16 slots and doesn't grow until it holds 9 keys
+        ArrayList<Integer> keys = keysWithHome(15, 5);
+        for (int first = 0; first < keys.size(); first++) {
+            IntObjectMap<String> test = new IntObjectMap<String>();
+            for (int key : keys)
+                test.put(key, "v" + key);
+            // a key whose home is slot 1, inside the run, goes at its end
+            int inside = keysWithHome(1, 1).get(0);
+            test.put(inside, "inside");
+
+            test.remove(keys.get(first));
+            assertEquals(5, test.size());
+            assertEquals(null, test.get(keys.get(first)));
+            for (int key : keys)
+                if (key != keys.get(first))
+                    assertEquals("v" + key, test.get(key));
+            assertEquals("inside", test.get(inside));
+
+            // and the map empties cleanly in any order after that
+            for (int key : keys)
+                test.remove(key);
+            test.remove(inside);
+            assertEquals(0, test.size());
+            for (int key : keys)
+                assertEquals(null, test.get(key));
+        }
+    }
+
+    /* compare against java.util.HashMap under random churn, with 0, negative
+     * keys and keys that differ only in their high bits */
+    @Test
+    public void randAgainstHashMap() {
+        IntObjectMap<Integer> test = new IntObjectMap<Integer>();
+        HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+        Random rand = new Random(345);
+        for (int i = 0; i < 100000; i++) {
+            int key = rand.nextInt(400) - 200;
+            if (rand.nextInt(4) == 0)
+                key <<= 24;
+            if (rand.nextInt(3) == 0) {
+                test.remove(key);
+                correctMap.remove(key);
+            } else {
+                test.put(key, i);
+                correctMap.put(key, i);
+            }
+            int probe = rand.nextInt(400) - 200;
+            assertEquals(correctMap.get(probe), test.get(probe));
+            assertEquals(correctMap.containsKey(probe), test.containsKey(probe));
+            assertEquals(correctMap.size(), test.size());
+        }
+        for (Integer key : correctMap.keySet())
+            assertEquals(correctMap.get(key), test.get(key));
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new IntObjectMap<Integer>(1 << 30);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+}
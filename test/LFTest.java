@@ -0,0 +1,68 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.LockFreeHashMap;
+
+public class LFTest extends ConcurrentMapTest {
+
+    @Override
+    protected void reset() {
+        testMap = new LockFreeHashMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new LockFreeHashMap<Integer, Integer>();
+    }
+
+    /* keys that all share a hash code end up in one chain */
+    @Test
+    public void identicalHashes() {
+        LockFreeHashMap<ProbeKey, Integer> test = new LockFreeHashMap<ProbeKey, Integer>();
+        for (int i = 0; i < 200; i++)
+            test.put(new ProbeKey(i, 7), i);
+        for (int i = 0; i < 200; i += 2)
+            test.remove(new ProbeKey(i, 7));
+        assertEquals(100, test.size());
+        for (int i = 0; i < 200; i++)
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), test.get(new ProbeKey(i, 7)));
+    }
+
+    /* replacing or removing a key deep in a long colliding chain copies the
+     * whole prefix of the chain, which must not run out of stack */
+    @Test
+    public void longCollidingChain() {
+        LockFreeHashMap<ProbeKey, Integer> test = new LockFreeHashMap<ProbeKey, Integer>();
+        int n = 20000;
+        for (int i = 0; i < n; i++)
+            test.put(new ProbeKey(i, 7), i);
+        // the earliest keys sit at the far end of the chain
+        for (int i = 0; i < 10; i++)
+            test.put(new ProbeKey(i, 7), -i);
+        for (int i = 10; i < 20; i++)
+            test.remove(new ProbeKey(i, 7));
+        assertEquals(n - 10, test.size());
+        for (int i = 0; i < 10; i++)
+            assertEquals(Integer.valueOf(-i), test.get(new ProbeKey(i, 7)));
+        for (int i = 10; i < 20; i++)
+            assertEquals(null, test.get(new ProbeKey(i, 7)));
+        assertEquals(Integer.valueOf(n - 1), test.get(new ProbeKey(n - 1, 7)));
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new LockFreeHashMap<Integer, Integer>(Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+}
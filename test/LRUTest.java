@@ -0,0 +1,139 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.LRUMap;
+
+public class LRUTest extends MapStressTest {
+
+    /* large enough that the inherited tests never evict */
+    private static final int LARGE = 1 << 20;
+
+    @Override
+    protected void reset() {
+        testMap = new LRUMap<String, String>(LARGE);
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new LRUMap<Integer, Integer>(LARGE);
+    }
+
+    /* the least recently used key goes first, and get() counts as a use */
+    @Test
+    public void evictionOrder() {
+        final ArrayList<Integer> evicted = new ArrayList<Integer>();
+        LRUMap<Integer, Integer> test = new LRUMap<Integer, Integer>(3,
+                new LRUMap.EvictionListener<Integer, Integer>() {
+                    public void evicted(Integer key, Integer val) {
+                        assertEquals(key * 10, val.intValue());
+                        evicted.add(key);
+                    }
+                });
+        test.put(1, 10);
+        test.put(2, 20);
+        test.put(3, 30);
+        assertEquals(Integer.valueOf(10), test.get(1));
+        test.put(4, 40);
+        assertEquals(1, evicted.size());
+        assertEquals(Integer.valueOf(2), evicted.get(0));
+        // containsKey() is not a use, so 3 is still the eldest
+        assertTrue(test.containsKey(3));
+        test.put(5, 50);
+        assertEquals(Integer.valueOf(3), evicted.get(1));
+        assertFalse(test.containsKey(3));
+        assertEquals(3, test.size());
+        assertEquals(2, test.evictionCount());
+
+        // iteration runs from most to least recently used
+        Iterator<Integer> it = test.iterator();
+        assertEquals(Integer.valueOf(5), it.next());
+        assertEquals(Integer.valueOf(4), it.next());
+        assertEquals(Integer.valueOf(1), it.next());
+        assertFalse(it.hasNext());
+    }
+
+    /* replacing a value or removing a key is not an eviction */
+    @Test
+    public void removeAndReplace() {
+        final ArrayList<Integer> evicted = new ArrayList<Integer>();
+        LRUMap<Integer, Integer> test = new LRUMap<Integer, Integer>(2,
+                new LRUMap.EvictionListener<Integer, Integer>() {
+                    public void evicted(Integer key, Integer val) {
+                        evicted.add(key);
+                    }
+                });
+        test.put(1, 1);
+        test.put(2, 2);
+        test.put(1, 100);
+        test.remove(2);
+        test.put(3, 3);
+        assertTrue(evicted.isEmpty());
+        assertEquals(Integer.valueOf(100), test.get(1));
+        test.put(4, 4);
+        assertEquals(1, evicted.size());
+        assertEquals(Integer.valueOf(3), evicted.get(0));
+        assertEquals(1, test.evictionCount());
+    }
+
+    @Test
+    public void counts() {
+        LRUMap<Integer, Integer> test = new LRUMap<Integer, Integer>(10);
+        assertEquals(0.0, test.hitRatio(), 0);
+        for (int i = 0; i < 20; i++)
+            test.put(i, i);
+        for (int i = 0; i < 20; i++)
+            test.get(i);
+        assertEquals(10, test.hitCount());
+        assertEquals(10, test.missCount());
+        assertEquals(10, test.evictionCount());
+        assertEquals(0.5, test.hitRatio(), 1e-9);
+        test.resetCounts();
+        assertEquals(0, test.hitCount() + test.missCount() + test.evictionCount());
+        assertEquals(10, test.capacity());
+    }
+
+    /* compare against a java.util.LinkedHashMap in access order */
+    @Test
+    public void randAgainstLinkedHashMap() {
+        final int capacity = 100;
+        LinkedHashMap<Integer, Integer> correctMap = new LinkedHashMap<Integer, Integer>(16, 0.75f,
+                true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(java.util.Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        LRUMap<Integer, Integer> test = new LRUMap<Integer, Integer>(capacity);
+        Random rand = new Random(345);
+        for (int i = 0; i < 100000; i++) {
+            int key = rand.nextInt(300);
+            int op = rand.nextInt(10);
+            if (op < 5)
+                assertEquals(correctMap.get(key), test.get(key));
+            else if (op < 9) {
+                correctMap.put(key, i);
+                test.put(key, i);
+            } else {
+                correctMap.remove(key);
+                test.remove(key);
+            }
+            assertEquals(correctMap.size(), test.size());
+        }
+        ArrayList<Integer> expected = new ArrayList<Integer>(correctMap.keySet());
+        ArrayList<Integer> actual = new ArrayList<Integer>();
+        for (Integer key : test)
+            actual.add(0, key);
+        assertEquals(expected, actual);
+    }
+
+}
@@ -0,0 +1,117 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.OrderedHashMap;
+
+public class OHTest extends MapStressTest {
+
+    @Override
+    protected void reset() {
+        testMap = new OrderedHashMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new OrderedHashMap<Integer, Integer>();
+    }
+
+    private static void assertSameOrder(LinkedHashMap<Integer, Integer> correctMap,
+            OrderedHashMap<Integer, Integer> test) {
+        assertEquals(correctMap.size(), test.size());
+        Iterator<Integer> expected = correctMap.keySet().iterator();
+        for (Integer key : test) {
+            assertEquals(expected.next(), key);
+            assertEquals(correctMap.get(key), test.get(key));
+        }
+        assertFalse(expected.hasNext());
+    }
+
+    /* keys come back in the order they were first put, whatever is removed in
+     * between */
+    @Test
+    public void insertionOrder() {
+        reset();
+        testMap.put("Kansas", "Topeka");
+        testMap.put("Ohio", "Columbus");
+        testMap.put("Iowa", "Des Moines");
+        testMap.put("Utah", "Salt Lake City");
+        testMap.remove("Ohio");
+        testMap.put("Kansas", "Wichita");
+        testMap.put("Ohio", "Cleveland");
+        Iterator<String> it = testMap.iterator();
+        assertEquals("Kansas", it.next());
+        assertEquals("Iowa", it.next());
+        assertEquals("Utah", it.next());
+        assertEquals("Ohio", it.next());
+        assertFalse(it.hasNext());
+        assertEquals("[Kansas=Wichita, Iowa=Des Moines, Utah=Salt Lake City, Ohio=Cleveland]",
+                testMap.toString());
+    }
+
+    /* compare order and contents against java.util.LinkedHashMap under random
+     * churn, through growth and compaction */
+    @Test
+    public void randAgainstLinkedHashMap() {
+        OrderedHashMap<Integer, Integer> test = new OrderedHashMap<Integer, Integer>();
+        LinkedHashMap<Integer, Integer> correctMap = new LinkedHashMap<Integer, Integer>();
+        Random rand = new Random(345);
+        for (int i = 0; i < 50000; i++) {
+            int key = rand.nextInt(1000);
+            if (rand.nextInt(3) == 0) {
+                test.remove(key);
+                correctMap.remove(key);
+            } else {
+                test.put(key, i);
+                correctMap.put(key, i);
+            }
+            int probe = rand.nextInt(1000);
+            assertEquals(correctMap.get(probe), test.get(probe));
+            if (i % 1000 == 0)
+                assertSameOrder(correctMap, test);
+        }
+        assertSameOrder(correctMap, test);
+    }
+
+    /* removing nearly everything compacts the map, and what is left keeps its
+     * order */
+    @Test
+    public void drainAndRefill() {
+        OrderedHashMap<Integer, Integer> test = new OrderedHashMap<Integer, Integer>();
+        LinkedHashMap<Integer, Integer> correctMap = new LinkedHashMap<Integer, Integer>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 10000; i++) {
+                test.put(i * 7919 % 10007, i);
+                correctMap.put(i * 7919 % 10007, i);
+            }
+            for (int i = 0; i < 10007; i++) {
+                if (i % 100 != round) {
+                    test.remove(i);
+                    correctMap.remove(i);
+                }
+            }
+            assertSameOrder(correctMap, test);
+        }
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new OrderedHashMap<Integer, Integer>(Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+}
@@ -0,0 +1,201 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import adt.Map;
+import impl.IntIntMap;
+import impl.IntLongMap;
+import impl.LongLongMap;
+
+/* tests for the primitive maps IntIntMap, IntLongMap and LongLongMap */
+public class PMTest {
+
+    /* keys drawn from a small range around 0, so 0 and negative keys come up
+     * often, mixed with keys that differ only in their high bits */
+    private static long nextKey(Random rand) {
+        long key = rand.nextInt(400) - 200;
+        return rand.nextInt(4) == 0 ? key << 24 : key;
+    }
+
+    @Test
+    public void intIntAgainstHashMap() {
+        IntIntMap test = new IntIntMap();
+        HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+        Random rand = new Random(345);
+        for (int i = 0; i < 50000; i++) {
+            int key = (int) nextKey(rand);
+            switch (rand.nextInt(4)) {
+            case 0:
+                test.remove(key);
+                correctMap.remove(key);
+                break;
+            case 1:
+                Integer old = correctMap.get(key);
+                correctMap.put(key, (old == null ? 0 : old) + i);
+                assertEquals((int) correctMap.get(key), test.addTo(key, i));
+                break;
+            default:
+                test.put(key, -i);
+                correctMap.put(key, -i);
+            }
+            int probe = (int) nextKey(rand);
+            assertEquals(correctMap.containsKey(probe), test.containsKey(probe));
+            assertEquals(correctMap.containsKey(probe) ? correctMap.get(probe) : 0, test.get(probe));
+            assertEquals(correctMap.containsKey(probe) ? correctMap.get(probe) : 7, test.getOrDefault(probe, 7));
+            assertEquals(correctMap.size(), test.size());
+        }
+        assertSameView(correctMap, test.asMap());
+    }
+
+    @Test
+    public void intLongAgainstHashMap() {
+        IntLongMap test = new IntLongMap();
+        HashMap<Integer, Long> correctMap = new HashMap<Integer, Long>();
+        Random rand = new Random(346);
+        for (int i = 0; i < 50000; i++) {
+            int key = (int) nextKey(rand);
+            long val = (long) i << 32;
+            switch (rand.nextInt(4)) {
+            case 0:
+                test.remove(key);
+                correctMap.remove(key);
+                break;
+            case 1:
+                Long old = correctMap.get(key);
+                correctMap.put(key, (old == null ? 0 : old) + val);
+                assertEquals((long) correctMap.get(key), test.addTo(key, val));
+                break;
+            default:
+                test.put(key, -val);
+                correctMap.put(key, -val);
+            }
+            int probe = (int) nextKey(rand);
+            assertEquals(correctMap.containsKey(probe), test.containsKey(probe));
+            assertEquals(correctMap.containsKey(probe) ? correctMap.get(probe) : 0, test.get(probe));
+            assertEquals(correctMap.size(), test.size());
+        }
+        assertSameView(correctMap, test.asMap());
+    }
+
+    @Test
+    public void longLongAgainstHashMap() {
+        LongLongMap test = new LongLongMap();
+        HashMap<Long, Long> correctMap = new HashMap<Long, Long>();
+        Random rand = new Random(347);
+        for (int i = 0; i < 50000; i++) {
+            // some keys differ only above the low 32 bits
+            long key = rand.nextBoolean() ? nextKey(rand) : nextKey(rand) << 32;
+            long val = (long) i << 32;
+            switch (rand.nextInt(4)) {
+            case 0:
+                test.remove(key);
+                correctMap.remove(key);
+                break;
+            case 1:
+                Long old = correctMap.get(key);
+                correctMap.put(key, (old == null ? 0 : old) + val);
+                assertEquals((long) correctMap.get(key), test.addTo(key, val));
+                break;
+            default:
+                test.put(key, -val);
+                correctMap.put(key, -val);
+            }
+            long probe = rand.nextBoolean() ? nextKey(rand) : nextKey(rand) << 32;
+            assertEquals(correctMap.containsKey(probe), test.containsKey(probe));
+            assertEquals(correctMap.containsKey(probe) ? correctMap.get(probe) : 0, test.get(probe));
+            assertEquals(correctMap.size(), test.size());
+        }
+        assertSameView(correctMap, test.asMap());
+    }
+
+    /* the view has the same associations as the model, and null keys are
+     * ignored as the ADT requires */
+    private static <K, V> void assertSameView(HashMap<K, V> correctMap, Map<K, V> view) {
+        assertEquals(correctMap.size(), view.size());
+        HashSet<K> keys = new HashSet<K>();
+        for (K key : view) {
+            assertTrue(keys.add(key));
+            assertEquals(correctMap.get(key), view.get(key));
+        }
+        assertEquals(correctMap.keySet(), keys);
+        assertEquals(null, view.get(null));
+        assertFalse(view.containsKey(null));
+        view.remove(null);
+        assertEquals(correctMap.size(), view.size());
+    }
+
+    /* changes through the view show in the map, and the other way round */
+    @Test
+    public void viewWritesThrough() {
+        IntIntMap test = new IntIntMap();
+        Map<Integer, Integer> view = test.asMap();
+        view.put(0, 5);
+        view.put(3, 4);
+        test.put(-1, 2);
+        assertEquals(3, view.size());
+        assertEquals(5, test.get(0));
+        assertEquals(4, test.get(3));
+        assertEquals(Integer.valueOf(2), view.get(-1));
+        assertEquals(null, view.get(7));
+        view.remove(0);
+        assertFalse(test.containsKey(0));
+        assertEquals(0, test.get(0));
+        test.remove(3);
+        assertEquals(null, view.get(3));
+        assertEquals(1, view.size());
+    }
+
+    /* once the table is big enough, put(), get() and addTo() allocate nothing */
+    @Test
+    public void noAllocation() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long id = Thread.currentThread().getId();
+        IntIntMap ints = new IntIntMap(100000);
+        LongLongMap longs = new LongLongMap(100000);
+        long sum = 0;
+        long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 100000; i++) {
+            ints.put(i * 31, i);
+            sum += ints.get(i * 31) + ints.addTo(i * 31, 1);
+            longs.put(i * 31L << 32, i);
+            sum += longs.get(i * 31L << 32) + longs.addTo(i * 31L << 32, 1);
+        }
+        long allocated = threads.getThreadAllocatedBytes(id) - before;
+        assertTrue(sum != 0);
+        // some slack for the measurement itself
+        assertTrue("allocated " + allocated + " bytes", allocated < 10000);
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        for (int map = 0; map < 3; map++) {
+            boolean caught = false;
+            try {
+                if (map == 0)
+                    new IntIntMap(1 << 30);
+                else if (map == 1)
+                    new IntLongMap(1 << 30);
+                else
+                    new LongLongMap(1 << 30);
+            } catch (IllegalArgumentException iae) {
+                caught = true;
+            }
+            assertTrue(caught);
+        }
+    }
+
+}
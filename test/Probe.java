@@ -0,0 +1,66 @@
+package test;
+
+/**
+ * Per-thread counters of the calls made on ProbeKeys. This plays the
+ * part of MeasEq's static comparison counter, but each thread counts
+ * its own calls (so tests of concurrent maps can use it) and hashCode()
+ * and compareTo() are counted alongside equals().
+ */
+public final class Probe {
+
+    /* indices into each thread's counters */
+    static final int EQUALS = 0;
+    static final int HASH_CODE = 1;
+    static final int COMPARE_TO = 2;
+
+    private static final ThreadLocal<long[]> counts = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[3];
+        }
+    };
+
+    private Probe() {
+    }
+
+    static void count(int which) {
+        counts.get()[which]++;
+    }
+
+    /**
+     * Zero this thread's counters.
+     */
+    public static void reset() {
+        long[] c = counts.get();
+        c[EQUALS] = c[HASH_CODE] = c[COMPARE_TO] = 0;
+    }
+
+    /**
+     * The number of calls to equals() on this thread since the last reset.
+     */
+    public static long equalsCalls() {
+        return counts.get()[EQUALS];
+    }
+
+    /**
+     * The number of calls to hashCode() on this thread since the last reset.
+     */
+    public static long hashCodeCalls() {
+        return counts.get()[HASH_CODE];
+    }
+
+    /**
+     * The number of calls to compareTo() on this thread since the last reset.
+     */
+    public static long compareToCalls() {
+        return counts.get()[COMPARE_TO];
+    }
+
+    /**
+     * The number of calls of all three kinds on this thread since the last reset.
+     */
+    public static long totalCalls() {
+        long[] c = counts.get();
+        return c[EQUALS] + c[HASH_CODE] + c[COMPARE_TO];
+    }
+}
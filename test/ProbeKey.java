@@ -0,0 +1,52 @@
+package test;
+
+/**
+ * A key that counts (in Probe) every call to equals(), hashCode() and
+ * compareTo() made on it, so a test can check how much work a map, set
+ * or bag does per operation. Keys are ordered by their kernel. The hash
+ * is the kernel's unless given separately, which lets a test force
+ * collisions.
+ */
+public class ProbeKey implements Comparable<ProbeKey> {
+
+    protected final int kernel;
+    private final int hash;
+
+    public ProbeKey(int kernel) {
+        this(kernel, Integer.valueOf(kernel).hashCode());
+    }
+
+    public ProbeKey(int kernel, int hash) {
+        this.kernel = kernel;
+        this.hash = hash;
+    }
+
+    public int kernel() {
+        return kernel;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        Probe.count(Probe.EQUALS);
+        return o instanceof ProbeKey && kernel == ((ProbeKey) o).kernel;
+    }
+
+    @Override
+    public int hashCode() {
+        Probe.count(Probe.HASH_CODE);
+        return hash;
+    }
+
+    public int compareTo(ProbeKey other) {
+        Probe.count(Probe.COMPARE_TO);
+        return Integer.compare(kernel, other.kernel);
+    }
+
+    /**
+     * This should be used only for debugging; it doesn't count as a call.
+     */
+    @Override
+    public String toString() {
+        return Integer.toString(kernel);
+    }
+}
@@ -0,0 +1,53 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.RBTreeMap;
+
+public class RBTest extends SortedMapTest {
+
+    /* The largest map to measure */
+    private static final int MAXSIZE = 100000;
+
+    @Override
+    protected void reset() {
+        testMap = new RBTreeMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new RBTreeMap<Integer, Integer>();
+    }
+
+    @Test
+    public void stressTestProbes() {
+        CostReport report = new CostReport();
+        for (int size = 10; size <= MAXSIZE; size *= 10) {
+            // a red-black tree is at most 2 lg(n+1) high
+            double height = 2 * Math.log(size + 1) / Math.log(2);
+            // sorted insertion is the worst case for an unbalanced tree
+            RBTreeMap<ProbeKey, Integer> test = new RBTreeMap<ProbeKey, Integer>();
+            for (int j = 0; j < size; j++)
+                test.put(new ProbeKey(j), j);
+            report.skip();
+            for (int j = 0; j < size; j++) {
+                test.get(new ProbeKey(rand.nextInt(size)));
+                report.sample("get", size);
+                test.floorKey(new ProbeKey(rand.nextInt(size)));
+                report.sample("floorKey", size);
+            }
+            for (int j = 0; j < size; j++) {
+                test.remove(new ProbeKey(j));
+                report.sample("remove", size);
+            }
+            assertTrue("get() should make at most height comparisons",
+                    report.maxCallsPerOp("get") <= height + 1);
+            assertTrue("floorKey() should make at most height comparisons",
+                    report.maxCallsPerOp("floorKey") <= height + 1);
+            assertTrue("remove() should make at most height comparisons",
+                    report.maxCallsPerOp("remove") <= height + 1);
+        }
+    }
+
+}
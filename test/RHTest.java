@@ -0,0 +1,76 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.RobinHoodMap;
+
+public class RHTest extends MapStressTest {
+
+    @Override
+    protected void reset() {
+        testMap = new RobinHoodMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new RobinHoodMap<Integer, Integer>();
+    }
+
+    @Test
+    public void emptyProbeLength() {
+        RobinHoodMap<Integer, Integer> test = new RobinHoodMap<Integer, Integer>();
+        assertEquals(0, test.maxProbeLength());
+        assertEquals(0.0, test.meanProbeLength(), 0);
+    }
+
+    /* probe lengths must not creep up under put/remove churn */
+    @Test
+    public void churnProbeLength() {
+        RobinHoodMap<Integer, Integer> test = new RobinHoodMap<Integer, Integer>();
+        HashMap<Integer, Integer> correctMap = new HashMap<Integer, Integer>();
+        Random rand = new Random(345);
+        int keySpace = 20000;
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50000; i++) {
+                int key = rand.nextInt(keySpace);
+                if (rand.nextBoolean()) {
+                    test.put(key, i);
+                    correctMap.put(key, i);
+                } else {
+                    test.remove(key);
+                    correctMap.remove(key);
+                }
+            }
+            assertEquals(correctMap.size(), test.size());
+            assertTrue("mean probe length " + test.meanProbeLength(),
+                    test.meanProbeLength() < 3);
+            assertTrue("max probe length " + test.maxProbeLength(),
+                    test.maxProbeLength() < 40);
+        }
+        for (int key = 0; key < keySpace; key++)
+            assertEquals(correctMap.get(key), test.get(key));
+        for (int key = 0; key < keySpace; key++)
+            test.remove(key);
+        assertEquals(0, test.size());
+        assertEquals(0.0, test.meanProbeLength(), 0);
+    }
+
+    /* a capacity beyond the largest power-of-two table is rejected rather
+     * than overflowing the length */
+    @Test
+    public void capacityTooLarge() {
+        boolean caught = false;
+        try {
+            new RobinHoodMap<Integer, Integer>(Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            caught = true;
+        }
+        assertTrue(caught);
+    }
+
+}
@@ -0,0 +1,64 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.StripedHashMap;
+
+public class SHTest extends ConcurrentMapTest {
+
+    @Override
+    protected void reset() {
+        testMap = new StripedHashMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        // few stripes, so the threads in ConcurrentMapTest contend
+        testMapInt = new StripedHashMap<Integer, Integer>(4);
+    }
+
+    @Test
+    public void singleStripe() {
+        StripedHashMap<Integer, Integer> test = new StripedHashMap<Integer, Integer>(1);
+        for (int i = 0; i < 1000; i++)
+            test.put(i, -i);
+        for (int i = 0; i < 1000; i += 2)
+            test.remove(i);
+        assertEquals(500, test.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(-i), test.get(i));
+    }
+
+    /* an exception thrown by a key's equals() reaches the caller of get() and
+     * containsKey(), rather than being taken for a torn read */
+    @Test
+    public void equalsThrows() {
+        StripedHashMap<ProbeKey, Integer> test = new StripedHashMap<ProbeKey, Integer>(1);
+        // the map calls equals() on the keys it holds
+        test.put(new ProbeKey(1, 7) {
+            @Override
+            public boolean equals(Object o) {
+                throw new IllegalStateException();
+            }
+        }, 1);
+        ProbeKey probe = new ProbeKey(1, 7);
+        for (int op = 0; op < 3; op++) {
+            boolean caught = false;
+            try {
+                if (op == 0)
+                    test.get(probe);
+                else if (op == 1)
+                    test.containsKey(probe);
+                else
+                    test.remove(probe);
+            } catch (IllegalStateException ise) {
+                caught = true;
+            }
+            assertTrue(caught);
+        }
+        assertEquals(1, test.size());
+    }
+
+}
@@ -0,0 +1,111 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import impl.LockFreeSkipListMap;
+
+public class SLTest extends SortedMapTest {
+
+    @Override
+    protected void reset() {
+        testMap = new LockFreeSkipListMap<String, String>();
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new LockFreeSkipListMap<Integer, Integer>();
+    }
+
+    private static final int THREADS = ConcurrentMapTest.THREADS;
+
+    /* threads insert and remove interleaved keys; afterwards the map holds
+     * exactly the survivors, in order */
+    @Test
+    public void concurrentPutRemove() throws Throwable {
+        final LockFreeSkipListMap<Integer, Integer> test = new LockFreeSkipListMap<Integer, Integer>();
+        final int perThread = 10000;
+        Runnable[] tasks = new Runnable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            tasks[t] = new Runnable() {
+                public void run() {
+                    for (int i = id; i < THREADS * perThread; i += THREADS)
+                        test.put(i, -i);
+                    for (int i = id; i < THREADS * perThread; i += 2 * THREADS)
+                        test.remove(i);
+                }
+            };
+        }
+        ConcurrentMapTest.runAll(tasks);
+
+        int expected = 0;
+        for (int i = 0; i < THREADS * perThread; i++) {
+            boolean kept = i % (2 * THREADS) >= THREADS;
+            assertEquals(kept ? Integer.valueOf(-i) : null, test.get(i));
+            if (kept)
+                expected++;
+        }
+        assertEquals(expected, test.size());
+        Integer previous = null;
+        int count = 0;
+        for (Integer key : test) {
+            assertTrue(previous == null || previous < key);
+            previous = key;
+            count++;
+        }
+        assertEquals(expected, count);
+    }
+
+    /* while writers churn the odd keys, readers iterating ranges must see
+     * every even key exactly once, in order, and navigation must land on
+     * the right side of the probe */
+    @Test
+    public void iterationDuringWrites() throws Throwable {
+        final LockFreeSkipListMap<Integer, Integer> test = new LockFreeSkipListMap<Integer, Integer>();
+        final int keys = 20000;
+        for (int i = 0; i < keys; i += 2)
+            test.put(i, i);
+        Runnable[] tasks = new Runnable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            tasks[t] = new Runnable() {
+                public void run() {
+                    for (int round = 0; round < 5; round++) {
+                        if (id % 2 == 0) {
+                            for (int i = 1 + 2 * id; i < keys; i += THREADS) {
+                                test.put(i, i);
+                                if (round % 2 == 1)
+                                    test.remove(i);
+                            }
+                        } else {
+                            int from = round * 1000;
+                            int expected = from;
+                            Integer previous = null;
+                            for (Integer key : test.subMap(from, from + 8000)) {
+                                assertTrue(previous == null || previous < key);
+                                previous = key;
+                                if (key % 2 == 0) {
+                                    assertEquals(expected, key.intValue());
+                                    expected += 2;
+                                }
+                            }
+                            assertEquals(from + 8000, expected);
+                            for (int probe = 1; probe < keys - 1; probe += 97) {
+                                assertTrue(test.floorKey(probe) <= probe);
+                                assertTrue(test.floorKey(probe) >= probe - 1);
+                                assertTrue(test.ceilingKey(probe) >= probe);
+                                assertTrue(test.ceilingKey(probe) <= probe + 1);
+                            }
+                            assertEquals(Integer.valueOf(0), test.firstKey());
+                            assertTrue(test.lastKey() >= keys - 2);
+                        }
+                    }
+                }
+            };
+        }
+        ConcurrentMapTest.runAll(tasks);
+    }
+
+}
@@ -0,0 +1,121 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import adt.SortedMap;
+
+public abstract class SortedMapTest extends MapStressTest {
+
+    protected SortedMap<String, String> sorted() {
+        return (SortedMap<String, String>) testMap;
+    }
+
+    protected SortedMap<Integer, Integer> sortedInt() {
+        return (SortedMap<Integer, Integer>) testMapInt;
+    }
+
+    /* testing navigation on an empty map */
+    @Test
+    public void emptyNavigation() {
+        reset();
+        assertEquals(null, sorted().firstKey());
+        assertEquals(null, sorted().lastKey());
+        assertEquals(null, sorted().floorKey("Kansas"));
+        assertEquals(null, sorted().ceilingKey("Kansas"));
+        assertFalse(sorted().subMap("A", "Z").iterator().hasNext());
+    }
+
+    /* testing that the iterator returns keys in order */
+    @Test
+    public void populatedIteratorOrder() {
+        reset();
+        populate(getData().length / 2);
+        String previous = null;
+        int count = 0;
+        for (Iterator<String> it = testMap.iterator(); it.hasNext(); ) {
+            String key = it.next();
+            if (previous != null)
+                assertTrue(previous + " before " + key, previous.compareTo(key) < 0);
+            previous = key;
+            count++;
+        }
+        assertEquals(getData().length / 2, count);
+    }
+
+    @Test
+    public void firstLast() {
+        reset();
+        populate(getData().length / 2);
+        assertEquals("Alabama", sorted().firstKey());
+        assertEquals("Texas", sorted().lastKey());
+        testMap.remove("Alabama");
+        testMap.remove("Texas");
+        assertEquals("Alaska", sorted().firstKey());
+        assertEquals("Pennsylvania", sorted().lastKey());
+    }
+
+    @Test
+    public void floorCeiling() {
+        reset();
+        populate(getData().length / 2);
+        assertEquals("Kansas", sorted().floorKey("Kansas"));
+        assertEquals("Kansas", sorted().ceilingKey("Kansas"));
+        assertEquals("Texas", sorted().floorKey("Wisconsin"));
+        assertEquals(null, sorted().ceilingKey("Wisconsin"));
+        assertEquals("Ohio", sorted().floorKey("Oklahoma"));
+        assertEquals("Oregon", sorted().ceilingKey("Oklahoma"));
+        assertEquals(null, sorted().floorKey("Aardvark"));
+        assertEquals("Alabama", sorted().ceilingKey("Aardvark"));
+    }
+
+    @Test
+    public void subMapRange() {
+        reset();
+        populate(getData().length / 2);
+        String[] expected = { "Kansas", "Kentucky", "Massachusetts", "Michigan" };
+        int i = 0;
+        for (String key : sorted().subMap("Kansas", "Minnesota"))
+            assertEquals(expected[i++], key);
+        assertEquals(expected.length, i);
+        assertFalse(sorted().subMap("Kansas", "Kansas").iterator().hasNext());
+        assertFalse(sorted().subMap("Wisconsin", "Wyoming").iterator().hasNext());
+    }
+
+    /* compare navigation against java.util.TreeMap under random churn */
+    @Test
+    public void randNavigation() {
+        resetInteger();
+        TreeMap<Integer, Integer> correctMap = new TreeMap<Integer, Integer>();
+        Random rand = new Random(345);
+        for (int i = 0; i < 20000; i++) {
+            int key = rand.nextInt(2000);
+            if (rand.nextInt(3) == 0) {
+                testMapInt.remove(key);
+                correctMap.remove(key);
+            } else {
+                testMapInt.put(key, i);
+                correctMap.put(key, i);
+            }
+            int probe = rand.nextInt(2100) - 50;
+            assertEquals(correctMap.floorKey(probe), sortedInt().floorKey(probe));
+            assertEquals(correctMap.ceilingKey(probe), sortedInt().ceilingKey(probe));
+        }
+        assertEquals(correctMap.firstKey(), sortedInt().firstKey());
+        assertEquals(correctMap.lastKey(), sortedInt().lastKey());
+        Iterator<Integer> expected = correctMap.subMap(500, 1500).keySet().iterator();
+        for (Integer key : sortedInt().subMap(500, 1500))
+            assertEquals(expected.next(), key);
+        assertFalse(expected.hasNext());
+        expected = correctMap.keySet().iterator();
+        for (Integer key : testMapInt)
+            assertEquals(expected.next(), key);
+        assertFalse(expected.hasNext());
+    }
+
+}
@@ -0,0 +1,131 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import impl.LRUMap;
+import impl.TinyLFUMap;
+
+public class TLTest extends MapStressTest {
+
+    /* large enough that the inherited tests never evict */
+    private static final int LARGE = 1 << 20;
+
+    @Override
+    protected void reset() {
+        testMap = new TinyLFUMap<String, String>(LARGE);
+    }
+    @Override
+    protected void resetInteger() {
+        testMapInt = new TinyLFUMap<Integer, Integer>(LARGE);
+    }
+
+    /* the size never passes the capacity, and each key is in the map or was
+     * evicted, not both */
+    @Test
+    public void boundedSize() {
+        for (int capacity : new int[] { 1, 2, 5, 100, 1000 }) {
+            final java.util.HashMap<Integer, Integer> live = new java.util.HashMap<Integer, Integer>();
+            TinyLFUMap<Integer, Integer> test = new TinyLFUMap<Integer, Integer>(capacity,
+                    new LRUMap.EvictionListener<Integer, Integer>() {
+                        public void evicted(Integer key, Integer val) {
+                            assertEquals(live.remove(key), val);
+                        }
+                    });
+            Random rand = new Random(capacity);
+            for (int i = 0; i < 50000; i++) {
+                int key = rand.nextInt(capacity * 3);
+                int op = rand.nextInt(10);
+                if (op < 5)
+                    assertEquals(live.get(key), test.get(key));
+                else if (op < 9) {
+                    live.put(key, i);
+                    test.put(key, i);
+                } else {
+                    live.remove(key);
+                    test.remove(key);
+                }
+                assertTrue(test.size() <= capacity);
+                assertEquals(live.size(), test.size());
+            }
+            for (Integer key : test)
+                assertTrue(live.containsKey(key));
+        }
+    }
+
+    /* replay a cache-aside workload; return the hit ratio */
+    private static double replay(adt.Map<Integer, Integer> cache, int[] trace) {
+        int hits = 0;
+        for (int key : trace) {
+            if (cache.get(key) != null)
+                hits++;
+            else
+                cache.put(key, key);
+        }
+        return (double) hits / trace.length;
+    }
+
+    /* a hot set interrupted by scans of keys that are never seen again: LRU
+     * loses the hot set to each scan, TinyLFU keeps it */
+    @Test
+    public void scanResistance() {
+        int capacity = 1000;
+        Random rand = new Random(345);
+        int[] trace = new int[200000];
+        int scanKey = 1000000;
+        for (int i = 0; i < trace.length; i++) {
+            if (i % 10000 < 3000)
+                trace[i] = scanKey++;
+            else
+                trace[i] = rand.nextInt(800);
+        }
+        LRUMap<Integer, Integer> lru = new LRUMap<Integer, Integer>(capacity);
+        TinyLFUMap<Integer, Integer> tiny = new TinyLFUMap<Integer, Integer>(capacity);
+        double lruRatio = replay(lru, trace);
+        double tinyRatio = replay(tiny, trace);
+        assertTrue("lru " + lruRatio + " tinylfu " + tinyRatio, tinyRatio > lruRatio + 0.05);
+        assertEquals(tinyRatio, tiny.hitRatio(), 1e-9);
+    }
+
+    /* the hot set changes; aging lets the new one displace the old */
+    @Test
+    public void shiftingHotSet() {
+        int capacity = 500;
+        TinyLFUMap<Integer, Integer> test = new TinyLFUMap<Integer, Integer>(capacity);
+        Random rand = new Random(345);
+        int[] phase = new int[100000];
+        for (int i = 0; i < phase.length; i++)
+            phase[i] = rand.nextInt(400);
+        replay(test, phase);
+        for (int i = 0; i < phase.length; i++)
+            phase[i] = 10000 + rand.nextInt(400);
+        replay(test, phase);
+        test.resetCounts();
+        replay(test, phase);
+        assertTrue("hit ratio " + test.hitRatio(), test.hitRatio() > 0.95);
+    }
+
+    @Test
+    public void counts() {
+        TinyLFUMap<Integer, Integer> test = new TinyLFUMap<Integer, Integer>(10);
+        assertEquals(0.0, test.hitRatio(), 0);
+        for (int i = 0; i < 10; i++)
+            test.put(i, i);
+        for (int i = 0; i < 20; i++)
+            test.get(i);
+        assertEquals(10, test.hitCount());
+        assertEquals(10, test.missCount());
+        assertEquals(0, test.evictionCount());
+        test.put(10, 10);
+        assertEquals(1, test.evictionCount());
+        assertEquals(10, test.size());
+        test.resetCounts();
+        assertEquals(0, test.hitCount() + test.missCount() + test.evictionCount());
+        assertEquals(10, test.capacity());
+    }
+
+}